@@ -0,0 +1,44 @@
+package de.doccrazy.shared.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.doccrazy.shared.game.base.BlurUtils;
+
+/**
+ * {@code BlurUtils.blur} on a 512x512 RGBA image at several radii
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlurBenchmark {
+    private static final int SIZE = 512;
+
+    @Param({"1", "4", "16"})
+    public int radius;
+
+    private int[] pixels;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        pixels = new int[SIZE * SIZE];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int[] blur() {
+        return BlurUtils.blur(pixels, SIZE, SIZE, radius, 2);
+    }
+}
@@ -0,0 +1,127 @@
+package de.doccrazy.shared.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.math.Vector2;
+
+import de.doccrazy.shared.game.event.Event;
+import de.doccrazy.shared.game.event.EventSource;
+
+/**
+ * A frame's worth of mixed events posted and polled by type, as a game's world and renderer do
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventSourceBenchmark {
+    @Param({"10", "100", "1000"})
+    public int events;
+
+    private static final int LISTENERS = 100;
+    private static final float HEARING = 5f;
+
+    private EventSource source;
+    private Event[] pending;
+    private Vector2[] listeners;
+
+    @Setup
+    public void setup() {
+        source = new EventSource();
+        pending = new Event[events];
+        for (int i = 0; i < events; i++) {
+            switch (i % 4) {
+                case 0: pending[i] = new ExplosionEvent(i, i); break;
+                case 1: pending[i] = new SoundEvent(i, i); break;
+                case 2: pending[i] = new PickupEvent(i, i); break;
+                default: pending[i] = new BigExplosionEvent(i, i);
+            }
+        }
+        listeners = new Vector2[LISTENERS];
+        for (int i = 0; i < LISTENERS; i++) {
+            listeners[i] = new Vector2(i * events / (float) LISTENERS, i * events / (float) LISTENERS);
+        }
+    }
+
+    @Benchmark
+    public void postAndPoll(Blackhole bh) {
+        for (Event event : pending) {
+            source.postEvent(event);
+        }
+        source.pollEvents(SoundEvent.class, bh::consume);
+        source.pollEvents(ExplosionEvent.class, bh::consume);
+        source.pollEvents(UnusedEvent.class, bh::consume);
+        source.pollEvents(Event.class, bh::consume);
+    }
+
+    /**
+     * Every listener distance-tests all sounds
+     */
+    @Benchmark
+    public void listenScan(Blackhole bh) {
+        for (Event event : pending) {
+            source.postEvent(event);
+        }
+        for (Vector2 listener : listeners) {
+            source.pollEvents(SoundEvent.class, e -> {
+                if (listener.dst2(e.getX(), e.getY()) <= HEARING * HEARING) {
+                    bh.consume(e);
+                }
+            }, false);
+        }
+        source.clearEvents();
+    }
+
+    /**
+     * Every listener queries the event grid around it
+     */
+    @Benchmark
+    public void listenNear(Blackhole bh) {
+        for (Event event : pending) {
+            source.postEvent(event);
+        }
+        for (Vector2 listener : listeners) {
+            source.pollEventsNear(SoundEvent.class, listener, HEARING, bh::consume);
+        }
+        source.clearEvents();
+    }
+
+    public static class ExplosionEvent extends Event {
+        public ExplosionEvent(float x, float y) {
+            super(x, y);
+        }
+    }
+
+    public static class BigExplosionEvent extends ExplosionEvent {
+        public BigExplosionEvent(float x, float y) {
+            super(x, y);
+        }
+    }
+
+    public static class SoundEvent extends Event {
+        public SoundEvent(float x, float y) {
+            super(x, y);
+        }
+    }
+
+    public static class PickupEvent extends Event {
+        public PickupEvent(float x, float y) {
+            super(x, y);
+        }
+    }
+
+    public static class UnusedEvent extends Event {
+        public UnusedEvent(float x, float y) {
+            super(x, y);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package de.doccrazy.shared.benchmark;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.math.Vector2;
+
+import de.doccrazy.shared.game.world.Box2dWorld;
+import de.doccrazy.shared.game.world.GameState;
+
+/**
+ * Minimal headless world for benchmarks; starts a headless application on first use to load the natives
+ */
+public class HeadlessBenchmarkWorld extends Box2dWorld<HeadlessBenchmarkWorld> {
+    public HeadlessBenchmarkWorld(Vector2 gravity) {
+        super(gravity, true);
+    }
+
+    public static HeadlessBenchmarkWorld create(Vector2 gravity) {
+        if (Gdx.app == null) {
+            new HeadlessApplication(new ApplicationAdapter() {});
+        }
+        HeadlessBenchmarkWorld world = new HeadlessBenchmarkWorld(gravity);
+        world.update(0);
+        return world;
+    }
+
+    @Override
+    protected void doTransition(GameState newState) {
+    }
+
+    @Override
+    protected void doUpdate(float delta) {
+    }
+}
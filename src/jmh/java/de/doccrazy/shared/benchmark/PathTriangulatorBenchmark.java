@@ -0,0 +1,76 @@
+package de.doccrazy.shared.benchmark;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+
+import de.doccrazy.shared.game.svg.PathTriangulator;
+
+/**
+ * {@code PathTriangulator.process} on a closed curved outline with many segments; the generated bodies are built
+ * into a headless world (the builders hold native shapes) and destroyed after each invocation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PathTriangulatorBenchmark {
+    @Param({"16", "128"})
+    public int segments;
+
+    private HeadlessBenchmarkWorld world;
+    private Path2D path;
+    private final AffineTransform transform = AffineTransform.getScaleInstance(0.01, -0.01);
+    private final Array<Body> bodies = new Array<>();
+
+    @Setup
+    public void setup() {
+        world = HeadlessBenchmarkWorld.create(new Vector2());
+        path = new Path2D.Float();
+        float step = MathUtils.PI2 / segments;
+        path.moveTo(500, 0);
+        for (int i = 1; i <= segments; i++) {
+            // wavy, concave outline: alternate inner and outer control points
+            float a = i * step, mid = a - step / 2;
+            float ctrl = i % 2 == 0 ? 650 : 350;
+            float r = i % 3 == 0 ? 420 : 500;
+            path.quadTo(MathUtils.cos(mid) * ctrl, MathUtils.sin(mid) * ctrl, MathUtils.cos(a) * r, MathUtils.sin(a) * r);
+        }
+        path.closePath();
+    }
+
+    @TearDown(Level.Invocation)
+    public void destroyBodies() {
+        world.box2dWorld.getBodies(bodies);
+        for (Body body : bodies) {
+            world.box2dWorld.destroyBody(body);
+        }
+        bodies.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public int process() {
+        PathTriangulator.process(path, transform, 0.01f, builder -> builder.build(world));
+        return world.box2dWorld.getBodyCount();
+    }
+}
@@ -0,0 +1,95 @@
+package de.doccrazy.shared.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+
+import de.doccrazy.shared.game.svg.SVGLayer;
+
+/**
+ * {@code SVGLayer.createPhysicsBodiesRecursive} on a generated Inkscape-like level with nested, transformed groups
+ * of curved paths and rects
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SVGLayerBenchmark {
+    @Param({"20", "100"})
+    public int groups;
+
+    private HeadlessBenchmarkWorld world;
+    private XmlReader.Element document;
+    private final Array<Body> bodies = new Array<>();
+
+    @Setup
+    public void setup() {
+        world = HeadlessBenchmarkWorld.create(new Vector2());
+        document = new XmlReader().parse(createFixture(groups));
+    }
+
+    /**
+     * Each group holds a few rects, curved paths and a nested, rotated group
+     */
+    static String createFixture(int groups) {
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 10000 1000\">");
+        for (int g = 0; g < groups; g++) {
+            svg.append("<g transform=\"translate(").append(g * 90).append(",50)\">");
+            for (int r = 0; r < 4; r++) {
+                svg.append("<rect x=\"").append(r * 20).append("\" y=\"").append(800 - r * 30)
+                        .append("\" width=\"18\" height=\"10\"><desc>fp:0.5,0.1,1</desc></rect>");
+            }
+            for (int p = 0; p < 3; p++) {
+                int x = p * 25, y = 400 + p * 40;
+                svg.append("<path d=\"M ").append(x).append(' ').append(y)
+                        .append(" C ").append(x + 10).append(' ').append(y - 30).append(' ')
+                        .append(x + 30).append(' ').append(y - 30).append(' ').append(x + 40).append(' ').append(y)
+                        .append(" L ").append(x + 35).append(' ').append(y + 20)
+                        .append(" Q ").append(x + 20).append(' ').append(y + 5).append(' ')
+                        .append(x + 5).append(' ').append(y + 20).append(" Z\"/>");
+            }
+            svg.append("<g transform=\"rotate(15) scale(0.8)\">")
+                    .append("<rect x=\"10\" y=\"200\" width=\"40\" height=\"5\"/>")
+                    .append("<path d=\"M 0 100 L 40 100 L 50 130 L 20 150 L -10 130 Z\"/>")
+                    .append("</g>");
+            svg.append("</g>");
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    @TearDown(Level.Invocation)
+    public void destroyBodies() {
+        world.box2dWorld.getBodies(bodies);
+        for (Body body : bodies) {
+            world.box2dWorld.destroyBody(body);
+        }
+        bodies.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public int createPhysicsBodies() {
+        SVGLayer layer = new SVGLayer(document);
+        layer.applyScale(0.01f);
+        layer.createPhysicsBodiesRecursive(builder -> builder.build(world));
+        return world.box2dWorld.getBodyCount();
+    }
+}
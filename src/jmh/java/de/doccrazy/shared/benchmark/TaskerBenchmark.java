@@ -0,0 +1,61 @@
+package de.doccrazy.shared.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.doccrazy.shared.game.actor.FloatConsumer;
+import de.doccrazy.shared.game.actor.Tasker;
+
+/**
+ * {@code Tasker.update} with thousands of periodic tasks and long chains that mostly are not due, and short fades
+ * scheduled and finished every frame
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskerBenchmark {
+    @Param({"1000", "10000"})
+    public int tasks;
+
+    private Tasker tasker, fades;
+    private int executed;
+    private float alpha;
+    private final Runnable count = () -> executed++;
+    private final FloatConsumer fade = t -> alpha = t;
+
+    @Setup
+    public void setup() {
+        tasker = new Tasker();
+        for (int i = 0; i < tasks; i++) {
+            float interval = 0.1f + (i % 50) * 0.1f;
+            if (i % 2 == 0) {
+                tasker.every(interval, () -> executed++);
+            } else {
+                tasker.in(interval, () -> executed++).thenWait(interval).thenEvery(interval, () -> executed++);
+            }
+        }
+        tasker.update(0);
+        fades = new Tasker();
+    }
+
+    @Benchmark
+    public int update() {
+        tasker.update(1 / 60f);
+        return executed;
+    }
+
+    @Benchmark
+    public float fades() {
+        fades.during(0.1f, fade).then(count);
+        fades.update(1 / 60f);
+        return alpha;
+    }
+}
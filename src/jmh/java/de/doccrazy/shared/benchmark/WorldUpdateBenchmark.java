@@ -0,0 +1,84 @@
+package de.doccrazy.shared.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+import de.doccrazy.shared.game.world.BodyBuilder;
+import de.doccrazy.shared.game.world.ShapeBuilder;
+
+/**
+ * One 60Hz frame of {@code Box2dWorld.update} with N dynamic bodies falling into a static box. The world is rebuilt
+ * from the same seed for every iteration, and the bodies are put back to their spawn points every two simulated
+ * seconds, so all iterations measure the same mix of falling and settling instead of a pile that has gone to sleep.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldUpdateBenchmark {
+    @Param({"100", "500", "2000"})
+    public int bodies;
+
+    private static final int RESPAWN_FRAMES = 120;
+
+    private HeadlessBenchmarkWorld world;
+    private Body[] dynamicBodies;
+    private float[] spawns;
+    private int frame;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        MathUtils.random.setSeed(42);
+        world = HeadlessBenchmarkWorld.create(new Vector2(0, -10f));
+        float size = (float) Math.sqrt(bodies) * 2f;
+        BodyBuilder.forStatic(new Vector2(0, 0)).fixShape(ShapeBuilder.box(size, 1)).build(world);
+        BodyBuilder.forStatic(new Vector2(-size, size)).fixShape(ShapeBuilder.box(1, size)).build(world);
+        BodyBuilder.forStatic(new Vector2(size, size)).fixShape(ShapeBuilder.box(1, size)).build(world);
+        dynamicBodies = new Body[bodies];
+        spawns = new float[bodies * 2];
+        for (int i = 0; i < bodies; i++) {
+            spawns[i * 2] = MathUtils.random(-size + 2, size - 2);
+            spawns[i * 2 + 1] = MathUtils.random(2, size * 2);
+            dynamicBodies[i] = BodyBuilder.forDynamic(new Vector2(spawns[i * 2], spawns[i * 2 + 1]))
+                    .fixShape(ShapeBuilder.circle(0.4f)).build(world);
+        }
+        frame = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public void update() {
+        if (++frame == RESPAWN_FRAMES) {
+            frame = 0;
+            respawn();
+        }
+        world.update(1 / 60f);
+    }
+
+    private void respawn() {
+        for (int i = 0; i < dynamicBodies.length; i++) {
+            Body body = dynamicBodies[i];
+            body.setTransform(spawns[i * 2], spawns[i * 2 + 1], 0);
+            body.setLinearVelocity(0, 0);
+            body.setAngularVelocity(0);
+            body.setAwake(true);
+        }
+    }
+}
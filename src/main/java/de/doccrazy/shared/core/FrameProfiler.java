@@ -0,0 +1,139 @@
+package de.doccrazy.shared.core;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Measures CPU time per frame phase and keeps rolling min/avg/p99 statistics over the last frames. Phases can be
+ * entered multiple times per frame (e.g. once per physics substep), their times add up. When disabled, begin/end
+ * only check a flag.
+ * <p>
+ * {@link de.doccrazy.shared.game.BaseGameScreen} ends each frame; custom game loops have to call {@link #endFrame()}.
+ * Rendering phases measure command submission, not GPU time.
+ */
+public class FrameProfiler {
+    public enum Phase {
+        WORLD_ACT, PHYSICS_STEP, PHYSICS_WAIT, DESTROY, ENTITIES, DO_UPDATE,
+        BACKGROUND, STAGE_DRAW, DEBUG_DRAW, FRAMEBUFFER_BLIT, LIGHTS,
+        UI_ACT, UI_DRAW
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private boolean enabled;
+    private final long[] started = new long[PHASES.length];
+    private final long[] current = new long[PHASES.length];
+    private float[][] samples;  // ms per phase and frame, ring buffer
+    private float[] sorted;
+    private int window, next, count;
+
+    public FrameProfiler() {
+        this(120);
+    }
+
+    /**
+     * @param window number of frames the statistics are calculated over
+     */
+    public FrameProfiler(int window) {
+        setWindow(window);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        Arrays.fill(current, 0);
+    }
+
+    public void setWindow(int window) {
+        this.window = window;
+        samples = new float[PHASES.length][window];
+        sorted = new float[window];
+        next = 0;
+        count = 0;
+    }
+
+    public void begin(Phase phase) {
+        if (enabled) {
+            started[phase.ordinal()] = TimeUtils.nanoTime();
+        }
+    }
+
+    public void end(Phase phase) {
+        if (enabled) {
+            current[phase.ordinal()] += TimeUtils.nanoTime() - started[phase.ordinal()];
+        }
+    }
+
+    /**
+     * Store the times of the current frame and start a new one
+     */
+    public void endFrame() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < PHASES.length; i++) {
+            samples[i][next] = current[i] / 1000000f;
+            current[i] = 0;
+        }
+        next = (next + 1) % window;
+        count = Math.min(count + 1, window);
+    }
+
+    /**
+     * @return number of frames the statistics are based on
+     */
+    public int getFrameCount() {
+        return count;
+    }
+
+    /**
+     * @return shortest time in ms spent in the phase per frame
+     */
+    public float getMin(Phase phase) {
+        float[] values = samples[phase.ordinal()];
+        float min = count > 0 ? Float.MAX_VALUE : 0;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return average time in ms spent in the phase per frame
+     */
+    public float getAvg(Phase phase) {
+        float[] values = samples[phase.ordinal()];
+        float sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];
+        }
+        return count > 0 ? sum / count : 0;
+    }
+
+    /**
+     * @return 99th percentile of the time in ms spent in the phase per frame
+     */
+    public float getP99(Phase phase) {
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(samples[phase.ordinal()], 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        return sorted[Math.max(0, (int) Math.ceil(count * 0.99) - 1)];
+    }
+
+    /**
+     * @return average time in ms of all phases per frame
+     */
+    public float getAvgTotal() {
+        float sum = 0;
+        for (Phase phase : PHASES) {
+            sum += getAvg(phase);
+        }
+        return sum;
+    }
+}
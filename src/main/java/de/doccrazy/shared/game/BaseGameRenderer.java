@@ -13,6 +13,8 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 
+import de.doccrazy.shared.core.FrameProfiler;
+import de.doccrazy.shared.core.FrameProfiler.Phase;
 import de.doccrazy.shared.game.actor.WorldActor;
 import de.doccrazy.shared.game.base.ActorListener;
 import de.doccrazy.shared.game.world.Box2dWorld;
@@ -68,28 +70,49 @@ public abstract class BaseGameRenderer<T extends Box2dWorld<T>> implements Actor
 
         camera.update();
 
+        FrameProfiler profiler = world.getProfiler();
+        profiler.begin(Phase.BACKGROUND);
         frameBuffer.begin();
         batch.setProjectionMatrix(world.stage.getCamera().combined);
         batch.begin();
         drawBackground(batch);
         batch.end();
+        profiler.end(Phase.BACKGROUND);
 
         // game stage rendering
+        profiler.begin(Phase.STAGE_DRAW);
         world.stage.draw();
+        profiler.end(Phase.STAGE_DRAW);
+
+        // debug rendering and lights access the box2d world directly
+        world.awaitPhysics();
 
         // box2d debug renderering (optional)
         if (renderBox2dDebug) {
+            profiler.begin(Phase.DEBUG_DRAW);
             renderer.render(world.box2dWorld, camera.combined);
+            profiler.end(Phase.DEBUG_DRAW);
         }
+        profiler.begin(Phase.FRAMEBUFFER_BLIT);
         frameBuffer.end();
 
         batch.setProjectionMatrix(new Matrix4().idt());
         batch.begin();
         renderFramebufferToScreen(batch, frameBuffer);
         batch.end();
+        profiler.end(Phase.FRAMEBUFFER_BLIT);
 
+        profiler.begin(Phase.LIGHTS);
         world.rayHandler.setCombinedMatrix(camera);
         world.rayHandler.updateAndRender();
+        profiler.end(Phase.LIGHTS);
+    }
+
+    /**
+     * @return the world's profiler, which also covers the render phases
+     */
+    public FrameProfiler getProfiler() {
+        return world.getProfiler();
     }
 
     protected void renderFramebufferToScreen(SpriteBatch batch, FrameBuffer frameBuffer) {
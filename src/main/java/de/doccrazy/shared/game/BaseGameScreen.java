@@ -9,6 +9,9 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 
 import de.doccrazy.shared.core.Debug;
+import de.doccrazy.shared.core.FrameProfiler;
+import de.doccrazy.shared.core.FrameProfiler.Phase;
+import de.doccrazy.shared.game.ui.ProfilerOverlay;
 import de.doccrazy.shared.game.world.Box2dWorld;
 
 public abstract class BaseGameScreen<W extends Box2dWorld<W>, R extends BaseGameRenderer> implements Screen {
@@ -16,6 +19,7 @@ public abstract class BaseGameScreen<W extends Box2dWorld<W>, R extends BaseGame
     private R renderer; // our custom game renderer.
     private Stage uiStage; // stage that holds the GUI. Pixel-exact size.
     private SpriteBatch batch;
+    private ProfilerOverlay profilerOverlay;
 
 	@Override
 	public void show() {
@@ -29,6 +33,19 @@ public abstract class BaseGameScreen<W extends Box2dWorld<W>, R extends BaseGame
 		Gdx.input.setInputProcessor(new InputMultiplexer(uiStage, world.stage));
 
 		createUI(uiStage, world, renderer);
+
+		if (isShowProfiler()) {
+			world.getProfiler().setEnabled(true);
+			profilerOverlay = new ProfilerOverlay(world.getProfiler());
+			uiStage.addActor(profilerOverlay);
+		}
+	}
+
+	/**
+	 * @return true to enable the frame profiler and show its overlay (default: in debug mode)
+	 */
+	protected boolean isShowProfiler() {
+		return Debug.ON;
 	}
 
 	protected abstract W createWorld();
@@ -46,12 +63,18 @@ public abstract class BaseGameScreen<W extends Box2dWorld<W>, R extends BaseGame
         Gdx.gl.glEnable(GL20.GL_TEXTURE_2D);
 
         renderer.render(); // draw the box2d world
+        FrameProfiler profiler = world.getProfiler();
+        profiler.begin(Phase.UI_DRAW);
         uiStage.draw(); // draw the GUI
+        profiler.end(Phase.UI_DRAW);
+        profiler.endFrame();
 	}
 
 	private void update(float delta) {
         world.update(delta); // update the box2d world
+        world.getProfiler().begin(Phase.UI_ACT);
         uiStage.act(delta); // update GUI
+        world.getProfiler().end(Phase.UI_ACT);
 	}
 
 	@Override
@@ -64,6 +87,10 @@ public abstract class BaseGameScreen<W extends Box2dWorld<W>, R extends BaseGame
 		Gdx.input.setInputProcessor(null);
 		uiStage.dispose();
 		batch.dispose();
+		if (profilerOverlay != null) {
+			profilerOverlay.dispose();
+			profilerOverlay = null;
+		}
 	}
 
 	@Override
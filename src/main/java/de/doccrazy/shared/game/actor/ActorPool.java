@@ -0,0 +1,92 @@
+package de.doccrazy.shared.game.actor;
+
+import java.util.function.Supplier;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Pool for a single actor type, for high-rate spawning (projectiles, debris, pickups). Obtained actors return to the
+ * pool automatically when removed from the world, and {@link Box2dActor}s that support it (e.g. {@link ShapeActor})
+ * keep their body deactivated for reuse instead of destroying it. Usage: obtain, set spawn parameters, {@link de.doccrazy.shared.game.world.Box2dWorld#addActor
+ * add to world}.
+ */
+public class ActorPool<A extends WorldActor<?>> extends Pool<A> {
+    private final Supplier<A> factory;
+    private int obtained, hits, live, highWater;
+
+    public ActorPool(Supplier<A> factory) {
+        this(factory, 16, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param max maximum number of idle actors kept; surplus actors are discarded together with their body
+     */
+    public ActorPool(Supplier<A> factory, int initialCapacity, int max) {
+        super(initialCapacity, max);
+        this.factory = factory;
+    }
+
+    @Override
+    protected A newObject() {
+        A actor = factory.get();
+        actor.setPool(this);
+        return actor;
+    }
+
+    @Override
+    public A obtain() {
+        if (getFree() > 0) {
+            hits++;
+        }
+        obtained++;
+        live++;
+        highWater = Math.max(highWater, live);
+        return super.obtain();
+    }
+
+    @Override
+    public void free(A actor) {
+        live--;
+        if (getFree() >= max) {
+            actor.discard();
+        }
+        super.free(actor);
+    }
+
+    /**
+     * Discard all idle actors and destroy their parked bodies, e.g. when leaving a level
+     */
+    @Override
+    public void clear() {
+        while (getFree() > 0) {
+            super.obtain().discard();
+        }
+    }
+
+    /**
+     * @return fraction of obtained actors that were reused instead of newly created
+     */
+    public float getHitRate() {
+        return obtained == 0 ? 0 : (float) hits / obtained;
+    }
+
+    /**
+     * @return maximum number of actors from this pool that were in use at the same time
+     */
+    public int getHighWater() {
+        return highWater;
+    }
+
+    /**
+     * @return number of actors currently in use
+     */
+    public int getLive() {
+        return live;
+    }
+
+    public void resetStats() {
+        obtained = 0;
+        hits = 0;
+        highWater = live;
+    }
+}
@@ -3,14 +3,19 @@ package de.doccrazy.shared.game.actor;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 
 import box2dLight.Light;
+import de.doccrazy.shared.game.world.BodySnapshot;
 import de.doccrazy.shared.game.world.Box2dWorld;
 
 public abstract class Box2dActor<T extends Box2dWorld> extends WorldActor<T> {
 	protected Body body;
 	protected List<Light> lights = new ArrayList<>();
+	private final Vector2 previousPosition = new Vector2();
+	private float previousAngle;
+	private boolean hasPreviousTransform;
 
 	public Box2dActor(T world) {
 		super(world);
@@ -20,15 +25,114 @@ public abstract class Box2dActor<T extends Box2dWorld> extends WorldActor<T> {
 		return body;
 	}
 
+	/**
+	 * Remember the current body transform as interpolation source; called by the world before each physics step
+	 */
+	public void storePreviousTransform() {
+		if (body == null) {
+			return;
+		}
+		previousPosition.set(body.getPosition());
+		previousAngle = body.getAngle();
+		hasPreviousTransform = true;
+	}
+
+	/**
+	 * Called by the world after all physics steps of a frame if interpolation is enabled
+	 */
+	public void applyInterpolation() {
+	}
+
+	/**
+	 * Forget the previous transform, e.g. after teleporting the body, so the next frame does not blend across the jump
+	 */
+	public void resetInterpolation() {
+		hasPreviousTransform = false;
+	}
+
+	/**
+	 * Body position blended between the previous and current physics state
+	 * @param out receives the result
+	 * @return body angle in radians, blended likewise
+	 */
+	protected float getInterpolatedTransform(Vector2 out) {
+		BodySnapshot snapshot = world.getBodySnapshot();
+		if (snapshot != null) {
+			return getSnapshotTransform(snapshot, out);
+		}
+		Vector2 pos = body.getPosition();
+		float angle = body.getAngle();
+		float alpha = world.getInterpolationAlpha();
+		if (alpha >= 1f || !hasPreviousTransform) {
+			out.set(pos);
+			return angle;
+		}
+		out.set(previousPosition).lerp(pos, alpha);
+		return previousAngle + (angle - previousAngle) * alpha;
+	}
+
+	/**
+	 * Threaded physics: read from the snapshot, or from the body while physics is idle. The last result is kept in
+	 * the previous transform, so bodies created after the snapshot keep their position while physics is running.
+	 */
+	private float getSnapshotTransform(BodySnapshot snapshot, Vector2 out) {
+		int index = snapshot.indexOf(body);
+		if (index >= 0) {
+			snapshot.getPosition(index, previousPosition);
+			previousAngle = snapshot.getAngle(index);
+			hasPreviousTransform = true;
+		} else if (!world.isPhysicsRunning()) {
+			storePreviousTransform();
+		}
+		out.set(previousPosition);
+		return previousAngle;
+	}
+
 	@Override
 	protected void doRemove() {
 		for (Light light : lights) {
-			light.remove();
+			world.destroyLater(light);
 		}
+		lights.clear();
 		if (body != null) {
-			world.box2dWorld.destroyBody(body);
+			if (isPooled() && isBodyReusable()) {
+				parkBody();
+			} else {
+				world.destroyLater(body);
+				body = null;
+			}
 		}
-		body = null;
 		super.doRemove();
 	}
+
+	/**
+	 * Subclasses return true if their {@link #init()} puts a body that is still set back into the simulation instead
+	 * of creating a new one; only then pooled actors keep their body on removal, otherwise it is destroyed.
+	 */
+	protected boolean isBodyReusable() {
+		return false;
+	}
+
+	/**
+	 * Pooled actors keep their body for reuse: it is taken out of the simulation instead of being destroyed
+	 */
+	private void parkBody() {
+		body.setActive(false);
+		body.setLinearVelocity(0, 0);
+		body.setAngularVelocity(0);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		resetInterpolation();
+	}
+
+	@Override
+	void discard() {
+		if (body != null) {
+			world.destroyLater(body);
+			body = null;
+		}
+	}
 }
@@ -0,0 +1,6 @@
+package de.doccrazy.shared.game.actor;
+
+@FunctionalInterface
+public interface FloatConsumer {
+    void accept(float value);
+}
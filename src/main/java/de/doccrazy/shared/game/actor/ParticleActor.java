@@ -4,21 +4,33 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
 import com.badlogic.gdx.utils.Array;
 
+import de.doccrazy.shared.game.event.Subscription;
 import de.doccrazy.shared.game.world.Box2dWorld;
 
 public class ParticleActor extends WorldActor {
 	private Array<PooledEffect> effects = new Array<>();
+	private Subscription<ParticleEvent> subscription;
 
 	public ParticleActor(Box2dWorld world) {
 		super(world);
+		setTickMode(TickMode.FRAME);
+	}
+
+	@Override
+	protected void init() {
+		subscription = world.subscribe(ParticleEvent.class, 0, this::addEvent, true);
 	}
 
 	@Override
 	protected void doAct(float delta) {
-		world.pollEvents(ParticleEvent.class, this::addEvent);
 		updateEffects(delta);
 	}
 
+	@Override
+	protected void doRemove() {
+		subscription.cancel();
+	}
+
 	protected void addEvent(ParticleEvent event) {
 		PooledEffect effect = event.getEffect().obtain();
 		effect.setPosition(event.getX(), event.getY());
@@ -7,11 +7,32 @@ import de.doccrazy.shared.game.event.Event;
 public class ParticleEvent extends Event {
 	private ParticleEffectPool effect;
 
+	/**
+	 * For pooling, see {@link de.doccrazy.shared.game.event.EventSource#obtainEvent(Class)}
+	 */
+	public ParticleEvent() {
+	}
+
 	public ParticleEvent(float x, float y, ParticleEffectPool effect) {
 		super(x, y);
 		this.effect = effect;
 	}
 
+	/**
+	 * Initialize a pooled instance
+	 */
+	public ParticleEvent set(float x, float y, ParticleEffectPool effect) {
+		setPosition(x, y);
+		this.effect = effect;
+		return this;
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		effect = null;
+	}
+
 	public ParticleEffectPool getEffect() {
 		return effect;
 	}
@@ -16,6 +16,7 @@ public abstract class ShapeActor<T extends Box2dWorld> extends Box2dActor<T> {
     private boolean useRotation = true;
 	protected Vector2 spawn;
 	private boolean spawnIsLeftBottom;
+	private final Vector2 renderPos = new Vector2();
 
     public ShapeActor(T world, Vector2 spawn, boolean spawnIsLeftBottom) {
         super(world);
@@ -23,9 +24,20 @@ public abstract class ShapeActor<T extends Box2dWorld> extends Box2dActor<T> {
 		this.spawnIsLeftBottom = spawnIsLeftBottom;
     }
 
+    /**
+     * Set the spawn position of a pooled actor before adding it to the world again
+     */
+    public void setSpawn(Vector2 spawn) {
+        this.spawn = spawn;
+    }
+
     @Override
     protected void init() {
     	super.init();
+    	if (body != null) {
+    		recycleBody();
+    		return;
+    	}
         BodyBuilder builder = createBody(spawn);
         this.body = builder.build(world);
         this.body.setUserData(this);
@@ -58,6 +70,28 @@ public abstract class ShapeActor<T extends Box2dWorld> extends Box2dActor<T> {
         }
     }
 
+    @Override
+    protected boolean isBodyReusable() {
+        return true;
+    }
+
+    /**
+     * Called instead of {@link #createBody(Vector2)} when a pooled actor is added again and still has its parked
+     * body: moves it to the spawn point and puts it back into the simulation. Override to restore a custom angle or
+     * initial velocity.
+     */
+    protected void recycleBody() {
+        if (spawnIsLeftBottom) {
+            body.setTransform(spawn.x + getOriginX(), spawn.y + getOriginY(), 0);
+        } else {
+            body.setTransform(spawn, 0);
+        }
+        body.setLinearVelocity(0, 0);
+        body.setAngularVelocity(0);
+        body.setActive(true);
+        body.setAwake(true);
+    }
+
     /**
      * You should create a body with a single fixture. The fixture will be used to determine
      * the Actor's origin and size.
@@ -76,14 +110,21 @@ public abstract class ShapeActor<T extends Box2dWorld> extends Box2dActor<T> {
         updatePosition();
     }
 
+    @Override
+    public void applyInterpolation() {
+        if (body != null) {
+            updatePosition();
+        }
+    }
+
     /**
-     * Call this before drawing
+     * Call this before drawing; respects the world's interpolation setting
      */
     protected void updatePosition() {
-        Vector2 pos = body.getPosition();
-        setPosition(pos.x - getOriginX(), pos.y - getOriginY());
+        float angle = getInterpolatedTransform(renderPos);
+        setPosition(renderPos.x - getOriginX(), renderPos.y - getOriginY());
         if (useRotation) {
-            setRotation(MathUtils.radiansToDegrees * body.getAngle());
+            setRotation(MathUtils.radiansToDegrees * angle);
         }
     }
 }
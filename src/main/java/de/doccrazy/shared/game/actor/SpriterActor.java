@@ -14,6 +14,7 @@ import de.doccrazy.shared.spriter.GdxDrawer;
 public abstract class SpriterActor<T extends Box2dWorld> extends ShapeActor<T> {
     protected Player player;
     private final Supplier<GdxDrawer> drawerProvider;
+    private float animationDelta;
 
     public SpriterActor(T world, Vector2 spawn, boolean spawnIsLeftBottom, Entity entity, Supplier<GdxDrawer> drawerProvider) {
         super(world, spawn, spawnIsLeftBottom);
@@ -27,8 +28,16 @@ public abstract class SpriterActor<T extends Box2dWorld> extends ShapeActor<T> {
     @Override
     protected void doAct(float delta) {
         super.doAct(delta);
-        setSpeed(player, (int) (delta * 1000));
+        animationDelta += delta;
+        if (!world.isDecoupledTicking()) {
+            updatePlayer();
+        }
+    }
+
+    private void updatePlayer() {
+        setSpeed(player, (int) (animationDelta * 1000));
         player.update();
+        animationDelta = 0;
     }
 
     private void setSpeed(Player player2, int speed) {
@@ -49,6 +58,10 @@ public abstract class SpriterActor<T extends Box2dWorld> extends ShapeActor<T> {
 
 	@Override
     public void draw(Batch batch, float parentAlpha) {
+        if (animationDelta > 0) {
+            //decoupled ticking: advance the animation once per frame instead of every physics step
+            updatePlayer();
+        }
         updatePosition();
         applyClientTransform(batch, true);
         //sometimes the first frame is not scaled and causes glitches
@@ -0,0 +1,101 @@
+package de.doccrazy.shared.game.actor;
+
+import de.doccrazy.shared.game.actor.Tasker.TaskDef;
+
+/**
+ * Binary min-heap of tasks keyed on their due time; each task knows its index for removal
+ */
+class TaskHeap {
+    private TaskDef[] items = new TaskDef[16];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    TaskDef get(int index) {
+        return items[index];
+    }
+
+    TaskDef peek() {
+        return items[0];
+    }
+
+    void add(TaskDef task) {
+        if (size == items.length) {
+            TaskDef[] grown = new TaskDef[size * 2];
+            System.arraycopy(items, 0, grown, 0, size);
+            items = grown;
+        }
+        items[size] = task;
+        task.heapIndex = size;
+        up(size++);
+    }
+
+    TaskDef pop() {
+        TaskDef top = items[0];
+        remove(top);
+        return top;
+    }
+
+    void remove(TaskDef task) {
+        int index = task.heapIndex;
+        TaskDef last = items[--size];
+        items[size] = null;
+        task.heapIndex = -1;
+        if (index < size) {
+            items[index] = last;
+            last.heapIndex = index;
+            up(index);
+            down(last.heapIndex);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            items[i].heapIndex = -1;
+            items[i] = null;
+        }
+        size = 0;
+    }
+
+    private void up(int index) {
+        TaskDef task = items[index];
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (items[parent].due <= task.due) {
+                break;
+            }
+            items[index] = items[parent];
+            items[index].heapIndex = index;
+            index = parent;
+        }
+        items[index] = task;
+        task.heapIndex = index;
+    }
+
+    private void down(int index) {
+        TaskDef task = items[index];
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && items[child + 1].due < items[child].due) {
+                child++;
+            }
+            if (task.due <= items[child].due) {
+                break;
+            }
+            items[index] = items[child];
+            items[index].heapIndex = index;
+            index = child;
+        }
+        items[index] = task;
+        task.heapIndex = index;
+    }
+}
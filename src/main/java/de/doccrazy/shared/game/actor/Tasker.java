@@ -1,42 +1,115 @@
 package de.doccrazy.shared.game.actor;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.function.Consumer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Sort;
 
 /**
  * Simple task runner with functional interface; supports task chaining
+ * <p>
+ * Tasks are kept in a heap ordered by due time, so an update only visits the tasks that are due and those running
+ * continuously ({@link #during}); idle timers cost nothing per tick. Due tasks run in the order they were created.
+ * <p>
+ * A {@link #view() view} schedules its tasks on the tasker it was created from, but can cancel them on its own.
+ * Views only link their tasks into a list and are not updated themselves, e.g. the per-actor taskers on the world's
+ * scheduler. Cancelled tasks are taken out of the heap and recycled right away. A view can be
+ * {@link #setActive(boolean) paused}, which holds its tasks back with their elapsed time until it is resumed.
+ * <p>
+ * Task definitions are pooled and recycled once a task (including its chain) is finished or cancelled, so the
+ * returned {@link TaskDef}s must only be used for chaining right away. To cancel a task later, keep its
+ * {@link TaskDef#getHandle() handle}, which stays safe to use after the definition has been reused.
  */
 public class Tasker {
-    private List<TaskDef> tasks = new ArrayList<>(), newTasks = new ArrayList<>();
+    private final Tasker scheduler;
+    private TaskHeap heap;
+    private Array<TaskDef> newTasks, continuous, due, slots;
+    private Pool<TaskDef> taskPool;
+    private Pool<OnceTaskDef> oncePool;
+    private Sort sort;
+    private double clock;
+    private int created, generation;
+    private TaskDef first;  // views: own pending tasks, linked through TaskDef.ownerNext
+    private boolean active = true;
+
+    public Tasker() {
+        scheduler = null;
+        heap = new TaskHeap();
+        newTasks = new Array<>(false, 8, TaskDef.class);
+        continuous = new Array<>(false, 8, TaskDef.class);
+        due = new Array<>(false, 8, TaskDef.class);
+        slots = new Array<>(TaskDef.class);
+        sort = new Sort();
+        taskPool = new Pool<TaskDef>() {
+            @Override
+            protected TaskDef newObject() {
+                return register(new TaskDef(Tasker.this, slots.size));
+            }
+        };
+        oncePool = new Pool<OnceTaskDef>() {
+            @Override
+            protected OnceTaskDef newObject() {
+                return register(new OnceTaskDef(Tasker.this, slots.size));
+            }
+        };
+    }
+
+    private Tasker(Tasker scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return a tasker that runs its tasks on this one, and whose {@link #clear()} only cancels its own tasks
+     */
+    public Tasker view() {
+        return new Tasker(root());
+    }
+
+    /**
+     * Pause or resume the tasks of this view. While paused, tasks do not run and their time does not pass; tasks
+     * added meanwhile start counting when the view is resumed. Views are active when created.
+     */
+    public void setActive(boolean active) {
+        if (scheduler == null) {
+            throw new IllegalStateException("Only views can be paused");
+        }
+        if (this.active == active) {
+            return;
+        }
+        this.active = active;
+        for (TaskDef task = first; task != null; task = task.ownerNext) {
+            if (active) {
+                scheduler.resume(task);
+            } else {
+                scheduler.hold(task);
+            }
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
 
     /**
      * Run action every x seconds
      */
     public TaskDef every(float secs, Runnable action) {
-        TaskDef def = new TaskDef(secs, action);
-        newTasks.add(def);
-        return def;
+        return add(root().obtainTask(secs, action));
     }
 
     /**
      * Run action once after x seconds
      */
     public OnceTaskDef in(float secs, Runnable action) {
-        OnceTaskDef def = new OnceTaskDef(secs, action);
-        newTasks.add(def);
-        return def;
+        return add(root().obtainOnce(secs, action));
     }
 
     /**
      * Run action continously during x seconds, passing the elapsed time
      */
-    public OnceTaskDef during(float secs, Consumer<Float> action) {
-        OnceTaskDef def = new OnceTaskDef(secs, null);
+    public OnceTaskDef during(float secs, FloatConsumer action) {
+        OnceTaskDef def = root().obtainOnce(secs, null);
         def.continuousFunc = action;
-        newTasks.add(def);
-        return def;
+        return add(def);
     }
 
     /**
@@ -46,95 +119,392 @@ public class Tasker {
         return in(secs, () -> {});
     }
 
+    /**
+     * Cancel a task and the rest of its chain
+     * @param handle from {@link TaskDef#getHandle()}
+     * @return false if the task had already finished or been cancelled
+     */
+    public boolean cancel(long handle) {
+        TaskDef task = root().resolve(handle);
+        if (task == null) {
+            return false;
+        }
+        root().cancel(task);
+        return true;
+    }
+
+    /**
+     * Take a pending task out of the heap or the new tasks and recycle it; tasks being run by update() are only
+     * marked done and recycled by it
+     */
+    private void cancel(TaskDef task) {
+        if (task.heapIndex >= 0) {
+            heap.remove(task);
+            if (task.isContinuous()) {
+                continuous.removeValue(task, true);
+            }
+            free(task);
+        } else if (task.held || newTasks.removeValue(task, true)) {
+            free(task);
+        } else {
+            task.done = true;
+        }
+    }
+
+    /**
+     * @return true if the task with this handle has neither finished nor been cancelled
+     */
+    public boolean isPending(long handle) {
+        return root().resolve(handle) != null;
+    }
+
+    private Tasker root() {
+        return scheduler != null ? scheduler : this;
+    }
+
+    private <D extends TaskDef> D register(D def) {
+        slots.add(def);
+        return def;
+    }
+
+    private TaskDef resolve(long handle) {
+        int slot = (int) handle;
+        if (slot < 0 || slot >= slots.size) {
+            return null;
+        }
+        TaskDef task = slots.get(slot);
+        return task.generation == (int) (handle >>> 32) && task.isLive() ? task : null;
+    }
+
+    TaskDef obtainTask(float interval, Runnable function) {
+        TaskDef def = taskPool.obtain();
+        def.done = false;  // in case done() was called on the definition while it was in the pool
+        def.interval = interval;
+        def.function = function;
+        return def;
+    }
+
+    OnceTaskDef obtainOnce(float interval, Runnable function) {
+        OnceTaskDef def = oncePool.obtain();
+        def.done = false;
+        def.interval = interval;
+        def.function = function;
+        return def;
+    }
+
+    /**
+     * Return a task and its pending follow-ups to the pools
+     */
+    void free(TaskDef task) {
+        while (task != null) {
+            if (task instanceof OnceTaskDef) {
+                OnceTaskDef once = (OnceTaskDef) task;
+                task = once.follow;
+                oncePool.free(once);
+            } else {
+                taskPool.free(task);
+                task = null;
+            }
+        }
+    }
+
+    private <D extends TaskDef> D add(D def) {
+        if (scheduler != null) {
+            link(def);
+            if (!active) {
+                def.order = scheduler.created++;
+                def.base = 0;
+                def.held = true;
+                def.heldGeneration = scheduler.generation;
+                return def;
+            }
+            return scheduler.add(def);
+        }
+        def.order = created++;
+        def.base = clock;
+        newTasks.add(def);
+        return def;
+    }
+
+    /**
+     * Take a task of a paused view out of the schedule, keeping its elapsed time in base
+     */
+    private void hold(TaskDef task) {
+        if (task.heapIndex >= 0) {
+            heap.remove(task);
+            if (task.isContinuous()) {
+                continuous.removeValue(task, true);
+            }
+        } else if (!newTasks.removeValue(task, true)) {
+            return;  // being run by update(), which holds it afterwards
+        }
+        markHeld(task);
+    }
+
+    private void markHeld(TaskDef task) {
+        task.base -= clock;
+        task.held = true;
+        task.heldGeneration = generation;
+    }
+
+    private void resume(TaskDef task) {
+        if (!task.held) {
+            return;
+        }
+        task.held = false;
+        if (task.heldGeneration != generation) {
+            free(task);  // the scheduler was cleared meanwhile
+            return;
+        }
+        task.base += clock;
+        newTasks.add(task);
+    }
+
+    private void link(TaskDef def) {
+        def.owner = this;
+        def.ownerNext = first;
+        if (first != null) {
+            first.ownerPrev = def;
+        }
+        first = def;
+    }
+
+    void unlink(TaskDef def) {
+        if (def.ownerPrev != null) {
+            def.ownerPrev.ownerNext = def.ownerNext;
+        } else {
+            first = def.ownerNext;
+        }
+        if (def.ownerNext != null) {
+            def.ownerNext.ownerPrev = def.ownerPrev;
+        }
+    }
+
+    /**
+     * Cancel all pending tasks
+     */
+    public void clear() {
+        if (scheduler != null) {
+            TaskDef next;
+            for (TaskDef task = first; task != null; task = next) {
+                next = task.ownerNext;
+                scheduler.cancel(task);
+            }
+            return;
+        }
+        generation++;
+        for (int i = 0; i < heap.size(); i++) {
+            free(heap.get(i));
+        }
+        heap.clear();
+        for (TaskDef task : newTasks) {
+            free(task);
+        }
+        newTasks.clear();
+        continuous.clear();
+        // tasks being run are freed by update() once the current one returns
+    }
+
     public void update(float delta) {
-        tasks.addAll(newTasks);
+        if (scheduler != null) {
+            throw new IllegalStateException("Views are updated by their scheduler");
+        }
+        clock += delta;
+        for (TaskDef task : newTasks) {
+            schedule(task);
+        }
         newTasks.clear();
-        for (TaskDef task : tasks) {
-            task.update(delta);
+
+        while (!heap.isEmpty() && heap.peek().isDue(clock)) {
+            due.add(heap.pop());
         }
-        for (Iterator<TaskDef> it = tasks.iterator(); it.hasNext(); ) {
-            TaskDef task = it.next();
-            if (task.done) {
-                it.remove();
+        for (TaskDef task : continuous) {
+            if (task.heapIndex >= 0) {
+                heap.remove(task);
+                due.add(task);
             }
         }
+        continuous.clear();
+        if (due.size == 0) {
+            return;
+        }
+        sort.sort(due, Tasker::compareOrder);
+
+        int gen = generation;
+        for (int i = 0; i < due.size; i++) {
+            TaskDef task = due.get(i);
+            if (task.isLive() && (task.owner == null || task.owner.active)) {
+                task.update(clock);
+            }
+            if (gen != generation) {
+                break;  // cleared by a task
+            }
+        }
+        for (TaskDef task : due) {
+            if (gen == generation && task.isLive() && task.owner != null && !task.owner.active) {
+                markHeld(task);
+            } else if (gen == generation && task.isLive()) {
+                schedule(task);
+            } else {
+                free(task);
+            }
+        }
+        due.clear();
+    }
+
+    private void schedule(TaskDef task) {
+        task.due = task.base + task.interval;
+        heap.add(task);
+        if (task.isContinuous()) {
+            continuous.add(task);
+        }
+    }
+
+    private static int compareOrder(TaskDef a, TaskDef b) {
+        return Integer.compare(a.order, b.order);
     }
 
 
-    public static class TaskDef {
+    public static class TaskDef implements Pool.Poolable {
+        final Tasker scheduler;
+        final int slot;
+        int generation = 1;
         Runnable function;
-        float time = 0f;
+        double base;  // clock value at which the elapsed time was 0
         float interval;
         boolean done;
+        double due;
+        int order, heapIndex = -1;
+        Tasker owner;  // view the task was added through
+        TaskDef ownerPrev, ownerNext;
+        boolean held;  // view paused, base is relative to the resume time
+        int heldGeneration;
+        TaskDef head;  // scheduled task this one is a follow-up of, null if this is the scheduled one
 
-        TaskDef(float interval, Runnable function) {
+        TaskDef(Tasker scheduler, int slot) {
             super();
-            this.interval = interval;
-            this.function = function;
+            this.scheduler = scheduler;
+            this.slot = slot;
         }
 
-        void update(float delta) {
-            time += delta;
-            afterIncTime();
-            while (time > interval) {
-                if (done) {
+        void update(double clock) {
+            afterIncTime(clock);
+            while (clock - base > interval) {
+                if (!isLive()) {
                     return;
                 }
-                exec();
-                time -= interval;
+                exec(clock);
+                base += interval;
             }
         }
 
-        protected void afterIncTime() {
+        boolean isLive() {
+            return !done && (!held || heldGeneration == scheduler.generation);
         }
 
-        protected void exec() {
+        boolean isDue(double clock) {
+            return clock - base > interval;
+        }
+
+        boolean isContinuous() {
+            return false;
+        }
+
+        protected void afterIncTime(double clock) {
+        }
+
+        protected void exec(double clock) {
             if (function != null) {
                 function.run();
             }
         }
 
+        /**
+         * Stop this task
+         * @deprecated definitions are recycled once their task has finished or was cancelled, so a kept reference
+         * may belong to another task by the time this is called, which would then be stopped instead; keep the
+         * {@link #getHandle() handle} and use {@link Tasker#cancel(long)}
+         */
+        @Deprecated
         public void done() {
             done = true;
         }
+
+        /**
+         * @return non-zero id for {@link Tasker#cancel(long)}, covering the whole chain; unlike the definition
+         * itself, it never refers to another task once this one has finished
+         */
+        public long getHandle() {
+            TaskDef task = head != null ? head : this;
+            return ((long) task.generation << 32) | task.slot;
+        }
+
+        @Override
+        public void reset() {
+            if (owner != null) {
+                owner.unlink(this);
+            }
+            generation++;
+            function = null;
+            base = 0;
+            interval = 0;
+            done = false;
+            due = 0;
+            order = 0;
+            heapIndex = -1;
+            owner = null;
+            ownerPrev = null;
+            ownerNext = null;
+            held = false;
+            heldGeneration = 0;
+            head = null;
+        }
     }
 
     public static class OnceTaskDef extends TaskDef {
         TaskDef follow;
-        private Consumer<Float> continuousFunc;
+        private FloatConsumer continuousFunc;
         boolean noDone;  //hack
 
-        OnceTaskDef(float interval, Runnable function) {
-            super(interval, function);
+        OnceTaskDef(Tasker scheduler, int slot) {
+            super(scheduler, slot);
         }
 
         @Override
-        protected void exec() {
-            super.exec();
+        protected void exec(double clock) {
+            super.exec(clock);
             if (follow == null) {
                 if (!noDone) {
                     done = true;
                 }
             } else {
-                function = follow.function;
-                time = 0f;
-                interval = follow.interval;
-                if (follow instanceof OnceTaskDef) {
-                    continuousFunc = ((OnceTaskDef)follow).continuousFunc;
-                    follow = ((OnceTaskDef)follow).follow;
+                TaskDef next = follow;
+                function = next.function;
+                base = clock;
+                interval = next.interval;
+                if (next instanceof OnceTaskDef) {
+                    continuousFunc = ((OnceTaskDef)next).continuousFunc;
+                    follow = ((OnceTaskDef)next).follow;
+                    ((OnceTaskDef)next).follow = null;
                     noDone = false;
                 } else {
                     continuousFunc = null;
                     follow = null;
                     noDone = true;   //followup is a regular task, do not stop after first exec()
                 }
+                scheduler.free(next);
             }
         }
 
         @Override
-        protected void afterIncTime() {
-            if (!done && continuousFunc != null) {
-                continuousFunc.accept(Math.min(time, interval));
+        boolean isContinuous() {
+            return continuousFunc != null;
+        }
+
+        @Override
+        protected void afterIncTime(double clock) {
+            if (isLive() && continuousFunc != null) {
+                continuousFunc.accept(Math.min((float) (clock - base), interval));
             }
         }
 
@@ -142,8 +512,7 @@ public class Tasker {
          * After this finishes, run action every x seconds
          */
         public TaskDef thenEvery(float secs, Runnable action) {
-            follow = new TaskDef(secs, action);
-            return follow;
+            return follow(scheduler.obtainTask(secs, action));
         }
 
         /**
@@ -157,17 +526,16 @@ public class Tasker {
          * After this finishes, run action once after x seconds
          */
         public OnceTaskDef then(float secs, Runnable action) {
-            follow = new OnceTaskDef(secs, action);
-            return (OnceTaskDef)follow;
+            return follow(scheduler.obtainOnce(secs, action));
         }
 
         /**
          * After this finishes, run action continously during x seconds, passing the elapsed time
          */
-        public OnceTaskDef thenDuring(float secs, Consumer<Float> action) {
-            follow = new OnceTaskDef(secs, null);
-            ((OnceTaskDef)follow).continuousFunc = action;
-            return (OnceTaskDef)follow;
+        public OnceTaskDef thenDuring(float secs, FloatConsumer action) {
+            OnceTaskDef def = follow(scheduler.obtainOnce(secs, null));
+            def.continuousFunc = action;
+            return def;
         }
 
         /**
@@ -176,5 +544,22 @@ public class Tasker {
         public OnceTaskDef thenWait(float secs) {
             return then(secs, () -> {});
         }
+
+        private <D extends TaskDef> D follow(D def) {
+            if (follow != null) {
+                scheduler.free(follow);  // replaced chain
+            }
+            def.head = head != null ? head : this;
+            follow = def;
+            return def;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            follow = null;
+            continuousFunc = null;
+            noDone = false;
+        }
     }
 }
@@ -0,0 +1,15 @@
+package de.doccrazy.shared.game.actor;
+
+/**
+ * Determines how often a {@link WorldActor} is ticked when the world uses decoupled ticking
+ */
+public enum TickMode {
+    /**
+     * Act once per physics step, e.g. controllers applying forces to bodies
+     */
+    SUBSTEP,
+    /**
+     * Act once per rendered frame, e.g. animations, timers and visual effects
+     */
+    FRAME,
+}
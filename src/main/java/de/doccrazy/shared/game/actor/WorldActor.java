@@ -1,5 +1,6 @@
 package de.doccrazy.shared.game.actor;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Affine2;
@@ -8,31 +9,43 @@ import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Pool;
 
 import de.doccrazy.shared.game.world.Box2dWorld;
 
 /**
  * Base class for actors contained in the game world
  */
-public abstract class WorldActor<T extends Box2dWorld> extends Actor {
+public abstract class WorldActor<T extends Box2dWorld> extends Actor implements Pool.Poolable {
     protected T world;
     protected boolean dead;
     protected float stateTime = 0f;
-    protected Tasker task = new Tasker();
+    protected Tasker task;
     private int zOrder = 0;
+    private TickMode tickMode = TickMode.SUBSTEP;
+    private boolean dormant;
+    private float dormantDelta;
 
     private final Affine2 worldTransform = new Affine2();
     private final Matrix4 computedTransform = new Matrix4();
     private final Matrix4 oldTransform = new Matrix4();
     private boolean didAct;
+    private ActorPool pool;
 
     public WorldActor(T world) {
         this.world = world;
+        this.task = world.getTasker().view();
+        task.setActive(false);
     }
 
+    /**
+     * Tasks only run while the actor is on stage and not dormant; the ones scheduled before start counting when it
+     * is added
+     */
     @Override
     protected void setStage(Stage stage) {
     	super.setStage(stage);
+    	task.setActive(stage != null && !dormant);
     	if (stage != null) {
     		init();
     	}
@@ -43,14 +56,26 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
 
     @Override
     public final void act(float delta) {
+        if (tickMode == TickMode.SUBSTEP && world.isFrameTick()) {
+            //already ticked by the world during physics substeps
+            return;
+        }
         if (dead) {
             die();
             return;
         }
+        if (dormant) {
+            dormantDelta += delta;
+            float interval = world.getActivityRegions().getDormantTickInterval();
+            if (interval <= 0 || dormantDelta < interval) {
+                return;
+            }
+            delta = dormantDelta;
+            dormantDelta = 0;
+        }
         super.act(delta);
         stateTime += delta;
 
-        task.update(delta);
         doAct(delta);
         didAct = true;
     }
@@ -68,6 +93,7 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
 
     public final void kill() {
         dead = true;
+        task.clear();
     }
 
     public final boolean isDead() {
@@ -89,10 +115,15 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public final boolean remove() {
         if (super.remove()) {
+            task.clear();
             doRemove();
             world.onActorRemoved(this);
+            if (pool != null) {
+                pool.free(this);
+            }
             return true;
         }
         return false;
@@ -101,6 +132,43 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
     protected void doRemove() {
     }
 
+    /**
+     * Reset contract for pooled actors: called when the actor goes back to its {@link ActorPool}. Subclasses must
+     * reset their own fields to the state after construction and call super.
+     */
+    @Override
+    public void reset() {
+        dead = false;
+        stateTime = 0;
+        task.clear();
+        dormant = false;
+        dormantDelta = 0;
+        didAct = false;
+        clearActions();  // not clear(), listeners added by the constructor must stay
+        setPosition(0, 0);
+        setRotation(0);
+        setScale(1);
+        setColor(Color.WHITE);
+        setVisible(true);
+    }
+
+    /**
+     * @return true if this actor was obtained from an {@link ActorPool} and will be returned to it on removal
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    void setPool(ActorPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Called when a pooled actor is dropped by its pool instead of being kept for reuse
+     */
+    void discard() {
+    }
+
     /**
      * Apply a transformation matrix so you can draw in this actor's coordinate system
      * @param toOrigin true: (0, 0) is at the origin point; false: (0, 0) is at the lower left
@@ -130,6 +198,83 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
 		return false;
 	}
 
+	public float getStateTime() {
+		return stateTime;
+	}
+
+	/**
+	 * Called when a {@link de.doccrazy.shared.game.world.WorldSnapshot} is taken; override to save custom state
+	 * (health, counters...) that has to be reset on restore. Pending tasks are not part of the snapshot.
+	 * @return an immutable copy of the state, or null if there is nothing to save
+	 */
+	public Object saveState() {
+		return null;
+	}
+
+	/**
+	 * Called when a {@link de.doccrazy.shared.game.world.WorldSnapshot} is restored, after the body transform has
+	 * been reapplied
+	 * @param state value returned by {@link #saveState()} when the snapshot was taken
+	 */
+	public void restoreState(Object state) {
+	}
+
+	/**
+	 * Reset the base actor state for a snapshot restore; called by the world
+	 */
+	public final void revive(float stateTime, boolean dormant) {
+		this.dead = false;
+		this.stateTime = stateTime;
+		setDormant(dormant);
+	}
+
+	/**
+	 * Cancel all pending tasks; called by the world before a removed actor is added again on snapshot restore,
+	 * because {@link #init()} will schedule them again. Tasks are also cancelled on {@link #kill()} and
+	 * {@link #remove()}.
+	 */
+	public final void clearTasks() {
+		task.clear();
+	}
+
+	/**
+	 * @return true if this actor should never be put to sleep by the world's activity regions (e.g. the player)
+	 */
+	public boolean isAlwaysActive() {
+		return false;
+	}
+
+	public boolean isDormant() {
+		return dormant;
+	}
+
+	/**
+	 * Set by the world's activity regions; a dormant actor does not tick, or only at a reduced rate. Its tasks are
+	 * paused until it wakes up.
+	 */
+	public void setDormant(boolean dormant) {
+		this.dormant = dormant;
+		dormantDelta = 0;
+		task.setActive(!dormant && getStage() != null);
+	}
+
+	public TickMode getTickMode() {
+        return tickMode;
+    }
+
+	/**
+	 * Only relevant if the world uses decoupled ticking; must be set before adding the actor to the world. Moves
+	 * {@link #task} to the scheduler of the tick mode, cancelling tasks scheduled so far.
+	 */
+	protected void setTickMode(TickMode tickMode) {
+        if (tickMode != this.tickMode) {
+            task.clear();
+            task = world.getTasker(tickMode).view();
+            task.setActive(getStage() != null && !dormant);
+        }
+        this.tickMode = tickMode;
+    }
+
 	public int getzOrder() {
         return zOrder;
     }
@@ -137,7 +282,7 @@ public abstract class WorldActor<T extends Box2dWorld> extends Actor {
 	public void setzOrder(int zOrder) {
         this.zOrder = zOrder;
         if (getStage() == world.stage) {
-            world.refreshZOrder();
+            world.invalidateZOrder();
         }
     }
 
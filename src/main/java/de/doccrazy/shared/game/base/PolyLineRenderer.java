@@ -8,19 +8,25 @@ import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 
+/**
+ * Textured line strip rendering; shares static buffers, so it must only be used on the render thread
+ */
 public class PolyLineRenderer {
 	private final static Vector2[] vertices = new Vector2[4];
 	private final static Vector2[] verticesTex = new Vector2[4];
 	private final static float[] vertColors = new float[4];
 	private final static float[] vertParts = new float[20];
 
-	private final static PolygonSpriteBatch shapeRenderer = new PolygonSpriteBatch();
+	private static PolygonSpriteBatch shapeRenderer; // created on first draw, so loading the class does not need GL
 
 	public static void drawLine(List<Vector2> points, float width, Matrix4 projMatrix, Texture texture) {
 	    drawLine(points, width, projMatrix, texture, null);
 	}
 
 	public static void drawLine(List<Vector2> points, float width, Matrix4 projMatrix, Texture texture, float[] colors) {
+		if (shapeRenderer == null) {
+			shapeRenderer = new PolygonSpriteBatch();
+		}
         shapeRenderer.setProjectionMatrix(projMatrix);
         shapeRenderer.begin();
         if (points.size() == 2) {
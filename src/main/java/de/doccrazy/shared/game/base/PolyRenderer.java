@@ -17,6 +17,11 @@ import com.badlogic.gdx.utils.ShortArray;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Textured polygon rendering of Box2D bodies and polygon triangulation. Drawing shares static buffers and must only
+ * happen on the render thread; {@link #createPolyShape(List)} is thread-safe, e.g. for loading levels in parallel
+ * headless worlds.
+ */
 public class PolyRenderer {
 	private final static Vector2[] vertices = new Vector2[1000];
 	private final static Vector2[] verticesRaw = new Vector2[1000];
@@ -24,10 +29,14 @@ public class PolyRenderer {
 	private final static float[] vertTmp = new float[5000];
 	private final static float[] vertParts = new float[5000];
 
-	private final static PolygonSpriteBatch shapeRenderer = new PolygonSpriteBatch();
+	private static PolygonSpriteBatch shapeRenderer; // created on first draw, so triangulation works without GL
 	private final static EarClippingTriangulator triangulator = new EarClippingTriangulator();
+	private final static ThreadLocal<EarClippingTriangulator> shapeTriangulator = ThreadLocal.withInitial(EarClippingTriangulator::new);
 
 	public static void drawBodies(List<Body> bodies, Matrix4 projMatrix, Texture texture) {
+		if (shapeRenderer == null) {
+			shapeRenderer = new PolygonSpriteBatch();
+		}
         shapeRenderer.setProjectionMatrix(projMatrix);
         shapeRenderer.begin();
  		for (Body body : bodies) {
@@ -86,14 +95,12 @@ public class PolyRenderer {
 	 * Triangulate the passed polygon and create Box2D shapes representing the object
      */
 	public static List<PolygonShape> createPolyShape(List<Vector2> polyPoints) {
-		System.out.println("createPoly");
-
+		float[] coords = new float[polyPoints.size()*2];
 		for (int i = 0; i < polyPoints.size(); i++) {
-			System.out.println(polyPoints.get(i));
-			vertTmp[i*2] = polyPoints.get(i).x;
-			vertTmp[i*2+1] = polyPoints.get(i).y;
+			coords[i*2] = polyPoints.get(i).x;
+			coords[i*2+1] = polyPoints.get(i).y;
 		}
-		ShortArray idx = triangulator.computeTriangles(vertTmp, 0, polyPoints.size()*2);
+		ShortArray idx = shapeTriangulator.get().computeTriangles(coords);
 		float[] tri = new float[6];
 		List<PolygonShape> result = new ArrayList<>();
 		for (int i = 0; i < idx.size/3; i++) {
@@ -103,7 +110,6 @@ public class PolyRenderer {
 			tri[3] = polyPoints.get(idx.get(i*3+1)).y;
 			tri[4] = polyPoints.get(idx.get(i*3+2)).x;
 			tri[5] = polyPoints.get(idx.get(i*3+2)).y;
-			System.out.println(String.format("tri %f %f %f %f %f %f", tri[0], tri[1], tri[2], tri[3], tri[4], tri[5]));
 			if ((Math.abs(tri[0] - tri[2]) < 0.001f && Math.abs(tri[1] - tri[3]) < 0.001f)
 					|| (Math.abs(tri[2] - tri[4]) < 0.001f && Math.abs(tri[3] - tri[5]) < 0.001f)
 					|| (Math.abs(tri[4] - tri[0]) < 0.001f && Math.abs(tri[5] - tri[1]) < 0.001f)) {
@@ -3,20 +3,53 @@ package de.doccrazy.shared.game.base;
 import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * Action running at a fixed interval. After a long frame it catches up by running once per elapsed interval, unless
+ * {@link #setCoalescing coalescing} is enabled or the catch-up is {@link #setMaxCatchUp capped}.
+ * <p>
+ * Grouped actions on a {@link WorldActor} share the accumulator of the world's {@link TickGroups} for their delay
+ * instead of keeping their own; they run in phase with the group, so the first run may come earlier than the delay.
+ */
 public abstract class RegularAction extends Action {
     private float delay;
 
     private float deltaCache = 0;
     private boolean enabled = true;
+    private boolean coalescing;
+    private float maxCatchUp;
+    private final boolean grouped;
+    private TickGroups.TickGroup group;
+    private boolean finished;
 
     private boolean inited;
 
     public RegularAction(float delay) {
+        this(delay, false);
+    }
+
+    /**
+     * @param grouped true to be ticked by the world's tick group for this delay (only applies to actions on a
+     *                {@link WorldActor}); dormant actors are skipped
+     */
+    public RegularAction(float delay, boolean grouped) {
         this.delay = delay;
+        this.grouped = grouped;
     }
 
     @Override
     public final boolean act(float delta) {
+        if (finished) {
+            return true;
+        }
+        if (grouped && actor instanceof WorldActor) {
+            if (group == null) {
+                WorldActor<?> worldActor = (WorldActor<?>) actor;
+                group = worldActor.getWorld().getTickGroups(worldActor.getTickMode()).add(this);
+            }
+            return false;
+        }
         if (!enabled) {
             return false;
         }
@@ -28,10 +61,66 @@ public abstract class RegularAction extends Action {
         }
         deltaCache += delta;
 
+        if (!coalescing && maxCatchUp <= 0) {
+            while (deltaCache >= delay) {
+                deltaCache -= delay;
+                if (run(delay)) {
+                    done();
+                    return true;
+                }
+            }
+            return false;
+        }
+        int intervals = 0;
         while (deltaCache >= delay) {
             deltaCache -= delay;
+            intervals++;
+        }
+        if (intervals > 0 && runIntervals(intervals)) {
+            done();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called by the tick group after intervals have elapsed
+     * @return true to leave the group
+     */
+    boolean tickGrouped(int intervals) {
+        if (actor == null || actor.getStage() == null) {
+            group = null;  // joins again if the actor is added back
+            return true;
+        }
+        if (!enabled || finished || (actor instanceof WorldActor && ((WorldActor<?>) actor).isDormant())) {
+            return false;
+        }
+        if (!inited) {
+            inited = true;
+            if (init()) {
+                finished = true;
+                group = null;
+                return true;
+            }
+        }
+        if (runIntervals(intervals)) {
+            done();
+            finished = true;  // removed from the actor on its next act
+            group = null;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean runIntervals(int intervals) {
+        if (maxCatchUp > 0) {
+            intervals = Math.min(intervals, Math.max(1, (int) (maxCatchUp / delay)));
+        }
+        if (coalescing) {
+            return run(intervals * delay);
+        }
+        for (int i = 0; i < intervals; i++) {
             if (run(delay)) {
-                done();
                 return true;
             }
         }
@@ -49,11 +138,31 @@ public abstract class RegularAction extends Action {
         this.enabled = enabled;
     }
 
+    /**
+     * @param coalescing true to call {@link #run(float)} only once per tick with the total elapsed time of all due
+     *                   intervals, instead of once per interval
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Limit the time made up for after a long frame; the excess is dropped
+     * @param maxCatchUp in seconds, rounded down to whole intervals (at least one); 0 for no limit
+     */
+    public void setMaxCatchUp(float maxCatchUp) {
+        this.maxCatchUp = maxCatchUp;
+    }
+
     @Override
     public void setActor(Actor actor) {
         if (actor == null && getActor() != null) {
             done();
         }
+        if (group != null && actor != getActor()) {
+            group.remove(this);
+            group = null;
+        }
         super.setActor(actor);
     }
 
@@ -63,11 +172,16 @@ public abstract class RegularAction extends Action {
 
     public void setDelay(float delay) {
         this.delay = delay;
+        if (group != null) {
+            group.remove(this);
+            group = null;  // joins the group for the new delay on the next act
+        }
     }
 
     @Override
     public void restart() {
         inited = false;
+        finished = false;
     }
 
     abstract protected boolean run(float delta);
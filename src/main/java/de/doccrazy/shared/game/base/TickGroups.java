@@ -0,0 +1,87 @@
+package de.doccrazy.shared.game.base;
+
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Shared accumulators for grouped {@link RegularAction}s, one per distinct delay, advanced by the world; a tick
+ * costs one accumulator check per group instead of one per action. A group is dropped once its last action leaves.
+ */
+public class TickGroups {
+    private final SnapshotArray<TickGroup> groups = new SnapshotArray<>(false, 4, TickGroup.class);
+
+    TickGroup add(RegularAction action) {
+        TickGroup group = null;
+        for (TickGroup candidate : groups) {
+            if (candidate.delay == action.getDelay()) {
+                group = candidate;
+                break;
+            }
+        }
+        if (group == null) {
+            group = new TickGroup(this, action.getDelay());
+            groups.add(group);
+        }
+        group.members.add(action);
+        return group;
+    }
+
+    public void update(float delta) {
+        TickGroup[] items = groups.begin();
+        for (int i = 0, n = groups.size; i < n; i++) {
+            items[i].update(delta);
+        }
+        groups.end();
+    }
+
+    /**
+     * @return number of actions in all groups
+     */
+    public int getActionCount() {
+        int count = 0;
+        for (TickGroup group : groups) {
+            count += group.members.size;
+        }
+        return count;
+    }
+
+    public int getGroupCount() {
+        return groups.size;
+    }
+
+    static class TickGroup {
+        private final TickGroups owner;
+        final float delay;
+        final SnapshotArray<RegularAction> members = new SnapshotArray<>(false, 16, RegularAction.class);
+        private float deltaCache;
+
+        TickGroup(TickGroups owner, float delay) {
+            this.owner = owner;
+            this.delay = delay;
+        }
+
+        void update(float delta) {
+            deltaCache += delta;
+            int intervals = 0;
+            while (deltaCache >= delay) {
+                deltaCache -= delay;
+                intervals++;
+            }
+            if (intervals == 0 || members.size == 0) {
+                return;
+            }
+            RegularAction[] actions = members.begin();
+            for (int i = 0, n = members.size; i < n; i++) {
+                if (actions[i].tickGrouped(intervals)) {
+                    remove(actions[i]);
+                }
+            }
+            members.end();
+        }
+
+        void remove(RegularAction action) {
+            if (members.removeValue(action, true) && members.size == 0) {
+                owner.groups.removeValue(this, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.doccrazy.shared.game.batch;
+
+/**
+ * Outcome and timing of a single {@link Simulation}
+ */
+public class BatchResult<R> {
+    private final int index;
+    private final R result;
+    private final Throwable error;
+    private final int frames;
+    private final long setupNanos, simulationNanos;
+
+    BatchResult(int index, R result, Throwable error, int frames, long setupNanos, long simulationNanos) {
+        this.index = index;
+        this.result = result;
+        this.error = error;
+        this.frames = frames;
+        this.setupNanos = setupNanos;
+        this.simulationNanos = simulationNanos;
+    }
+
+    /**
+     * @return position of the simulation in the submitted list
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return result of the simulation, null if it failed
+     */
+    public R getResult() {
+        return result;
+    }
+
+    /**
+     * @return exception thrown by the simulation, or null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return time spent creating the world and building the level, in nanoseconds
+     */
+    public long getSetupNanos() {
+        return setupNanos;
+    }
+
+    /**
+     * @return time spent updating the world, in nanoseconds
+     */
+    public long getSimulationNanos() {
+        return simulationNanos;
+    }
+
+    /**
+     * @return simulated seconds per wall clock second
+     */
+    public float getSpeedup(float frameDelta) {
+        return simulationNanos == 0 ? 0 : frames * frameDelta / (simulationNanos / 1e9f);
+    }
+}
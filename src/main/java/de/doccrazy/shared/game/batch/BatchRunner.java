@@ -0,0 +1,120 @@
+package de.doccrazy.shared.game.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Runs many independent headless worlds in parallel on a fixed pool of worker threads, each as fast as possible with
+ * a fixed frame delta. Every world is created, updated and disposed on a single worker thread.
+ * <p>
+ * Requirements: Gdx.graphics must be set (e.g. by a HeadlessApplication) because stages read the screen size, worlds
+ * must be {@link Box2dWorld#isHeadless() headless}, and simulations must not use shared mutable state. Note that
+ * MathUtils.random and the pools behind scene2d's Actions factory are global, so random decisions are not
+ * reproducible per world and pooled actions must not be used. {@code Array.sort} uses a global Sort instance as well
+ * (not thread-safe from 32 elements on), so simulations must sort through their own {@code new Sort()}, as the worlds
+ * do internally. Ashley's component types and families are global too:
+ * the built-in ones are set up once by {@link de.doccrazy.shared.game.ecs.EcsTypes}, custom ones must be created
+ * before the run.
+ */
+public class BatchRunner {
+    private final ExecutorService executor;
+    private final int threads;
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchRunner(int threads) {
+        this.threads = threads;
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "BatchRunner worker " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Run all simulations and wait for them to finish. A failing simulation does not stop the others; its exception
+     * is reported in its result.
+     * @param frameDelta time passed to each {@link Box2dWorld#update(float)}
+     * @param maxFrames upper bound of frames per simulation
+     * @return results in the order of the simulations
+     */
+    public <W extends Box2dWorld<W>, R> List<BatchResult<R>> run(List<? extends Simulation<W, R>> simulations,
+                                                                 float frameDelta, int maxFrames) {
+        if (Gdx.graphics == null) {
+            throw new IllegalStateException("Gdx.graphics not set, start a HeadlessApplication first");
+        }
+        List<Future<BatchResult<R>>> futures = new ArrayList<>(simulations.size());
+        for (int i = 0; i < simulations.size(); i++) {
+            Simulation<W, R> simulation = simulations.get(i);
+            int index = i;
+            futures.add(executor.submit(() -> simulate(index, simulation, frameDelta, maxFrames)));
+        }
+        List<BatchResult<R>> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<BatchResult<R>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Batch simulation failed", e.getCause());
+        }
+        return results;
+    }
+
+    private static <W extends Box2dWorld<W>, R> BatchResult<R> simulate(int index, Simulation<W, R> simulation,
+                                                                       float frameDelta, int maxFrames) {
+        long start = TimeUtils.nanoTime();
+        long setupNanos = 0;
+        int frames = 0;
+        W world = null;
+        try {
+            world = simulation.createWorld();
+            if (!world.isHeadless()) {
+                throw new IllegalStateException("Batch simulations need a headless world");
+            }
+            setupNanos = TimeUtils.nanoTime() - start;
+            start = TimeUtils.nanoTime();
+            boolean running = true;
+            while (running && frames < maxFrames) {
+                world.update(frameDelta);
+                running = simulation.afterFrame(world, frames);
+                frames++;
+            }
+            long simulationNanos = TimeUtils.nanoTime() - start;
+            return new BatchResult<>(index, simulation.getResult(world), null, frames, setupNanos, simulationNanos);
+        } catch (Exception e) {
+            return new BatchResult<>(index, null, e, frames, setupNanos, TimeUtils.nanoTime() - start);
+        } finally {
+            if (world != null) {
+                world.dispose();
+            }
+        }
+    }
+
+    /**
+     * Stop the worker threads; running simulations are finished first
+     */
+    public void dispose() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,28 @@
+package de.doccrazy.shared.game.batch;
+
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * One independent run of a {@link BatchRunner}, e.g. a level validation or a bot playtest. All methods are called on
+ * the same worker thread; implementations must not share mutable state with other simulations.
+ * @param <W> world type, must be created headless
+ * @param <R> result type
+ */
+public interface Simulation<W extends Box2dWorld<W>, R> {
+    /**
+     * Create a headless world and build the level
+     */
+    W createWorld();
+
+    /**
+     * Called after each world update, e.g. to feed bot input or check for the end condition
+     * @param frame number of the finished frame, starting at 0
+     * @return false to end the simulation
+     */
+    boolean afterFrame(W world, int frame);
+
+    /**
+     * Collect the result before the world is disposed
+     */
+    R getResult(W world);
+}
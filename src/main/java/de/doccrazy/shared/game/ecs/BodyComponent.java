@@ -0,0 +1,18 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Box2D body of an entity, copied to its {@link TransformComponent} after each update and destroyed when the entity
+ * is removed from the engine. The body's user data should be the entity.
+ */
+public class BodyComponent implements Component, Pool.Poolable {
+    public Body body;
+
+    @Override
+    public void reset() {
+        body = null;
+    }
+}
@@ -0,0 +1,28 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+
+/**
+ * Copies the body position and angle to the transform, once per frame after the physics steps
+ */
+public class BodySyncSystem extends IteratingSystem {
+    public BodySyncSystem() {
+        super(EcsTypes.BODIES, 0);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Body body = EcsTypes.BODY.get(entity).body;
+        if (body == null) {
+            return;
+        }
+        TransformComponent transform = EcsTypes.TRANSFORM.get(entity);
+        Vector2 pos = body.getPosition();
+        transform.x = pos.x;
+        transform.y = pos.y;
+        transform.angle = body.getAngle();
+    }
+}
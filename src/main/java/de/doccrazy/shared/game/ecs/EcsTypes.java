@@ -0,0 +1,39 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.core.PooledEngine;
+
+/**
+ * Component mappers and families of the built-in systems, created once for all worlds.
+ * <p>
+ * Ashley registers component types and families in unsynchronized static maps, and {@code Family.all()} returns a
+ * shared builder, so they must not be created while worlds are set up on several threads (see
+ * {@link de.doccrazy.shared.game.batch.BatchRunner}). The class initializer creates them under the JVM's class init
+ * lock; afterwards the maps are only read. Games running worlds in parallel must register their own component types
+ * and families up front as well, e.g. in a static initializer.
+ */
+public final class EcsTypes {
+    public static final ComponentMapper<TransformComponent> TRANSFORM = ComponentMapper.getFor(TransformComponent.class);
+    public static final ComponentMapper<BodyComponent> BODY = ComponentMapper.getFor(BodyComponent.class);
+    public static final ComponentMapper<SpriteComponent> SPRITE = ComponentMapper.getFor(SpriteComponent.class);
+    public static final ComponentMapper<SpriterComponent> SPRITER = ComponentMapper.getFor(SpriterComponent.class);
+    public static final ComponentMapper<LightComponent> LIGHT = ComponentMapper.getFor(LightComponent.class);
+    public static final ComponentMapper<TaskComponent> TASK = ComponentMapper.getFor(TaskComponent.class);
+
+    public static final Family BODIES = Family.all(BodyComponent.class, TransformComponent.class).get();
+    public static final Family SPRITES = Family.all(SpriteComponent.class, TransformComponent.class).get();
+    public static final Family SPRITERS = Family.all(SpriterComponent.class, TransformComponent.class).get();
+    public static final Family LIGHTS = Family.all(LightComponent.class, TransformComponent.class).get();
+
+    private EcsTypes() {
+    }
+
+    /**
+     * Create an engine; the first one initializes Ashley's Engine class, which builds a family of its own, so this is
+     * serialized with the initialization above
+     */
+    public static synchronized PooledEngine newEngine() {
+        return new PooledEngine();
+    }
+}
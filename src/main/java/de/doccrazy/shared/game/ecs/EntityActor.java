@@ -0,0 +1,59 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.math.MathUtils;
+
+import de.doccrazy.shared.game.actor.WorldActor;
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Actor wrapping an entity of the world's engine, for code that expects actors (camera targets, tasks, kill/remove).
+ * The entity is added to the engine with the actor and removed with it, releasing its body and lights; the actor's
+ * position follows the entity's transform (centered on its size). Drawing is left to the engine's systems.
+ * <p>
+ * Entities from {@link com.badlogic.ashley.core.PooledEngine#createEntity()} are recycled on removal; wrap an entity
+ * created with {@code new Entity()} if the actor may be added again, e.g. by a snapshot restore.
+ */
+public class EntityActor<T extends Box2dWorld<T>> extends WorldActor<T> {
+    protected final Entity entity;
+    private boolean added;
+
+    public EntityActor(T world, Entity entity) {
+        super(world);
+        this.entity = entity;
+    }
+
+    @Override
+    protected void init() {
+        if (!added) {
+            world.getEngine().addEntity(entity);
+            added = true;
+        }
+        updatePosition();
+    }
+
+    @Override
+    protected void doAct(float delta) {
+        updatePosition();
+    }
+
+    private void updatePosition() {
+        TransformComponent transform = EcsTypes.TRANSFORM.get(entity);
+        if (transform != null) {
+            setPosition(transform.x - getWidth() / 2f, transform.y - getHeight() / 2f);
+            setRotation(MathUtils.radiansToDegrees * transform.angle);
+        }
+    }
+
+    @Override
+    protected void doRemove() {
+        if (added) {
+            world.getEngine().removeEntity(entity);
+            added = false;
+        }
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+}
@@ -0,0 +1,40 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Releases the world resources of removed entities: bodies and lights are destroyed at the end of the update, tasks
+ * are cancelled
+ */
+public class EntityCleanup implements EntityListener {
+    private final Box2dWorld<?> world;
+
+    public EntityCleanup(Box2dWorld<?> world) {
+        this.world = world;
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        BodyComponent body = EcsTypes.BODY.get(entity);
+        if (body != null && body.body != null) {
+            world.destroyLater(body.body);
+            body.body = null;
+        }
+        LightComponent light = EcsTypes.LIGHT.get(entity);
+        if (light != null && light.light != null) {
+            world.destroyLater(light.light);
+            light.light = null;
+        }
+        TaskComponent task = EcsTypes.TASK.get(entity);
+        if (task != null && task.task != null) {
+            task.task.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+import de.doccrazy.shared.game.actor.TickMode;
+import de.doccrazy.shared.game.actor.WorldActor;
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Draws the entities of the world's engine as part of the stage, at this actor's z-order; add one to the world like
+ * a {@link de.doccrazy.shared.game.actor.ParticleActor}
+ */
+public class EntityLayerActor extends WorldActor {
+    private EntityRenderSystem renderSystem;
+
+    public EntityLayerActor(Box2dWorld world) {
+        super(world);
+        setTickMode(TickMode.FRAME);
+    }
+
+    @Override
+    protected void init() {
+        renderSystem = world.getEngine().getSystem(EntityRenderSystem.class);
+    }
+
+    @Override
+    protected void doAct(float delta) {
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (renderSystem != null) {
+            renderSystem.draw(batch, parentAlpha);
+        }
+    }
+
+    @Override
+    public boolean isNoRemove() {
+        return true;
+    }
+}
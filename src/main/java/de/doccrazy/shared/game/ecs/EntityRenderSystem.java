@@ -0,0 +1,54 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Draws sprite and Spriter entities in world coordinates. Does nothing on engine updates; {@link #draw} is called by
+ * an {@link EntityLayerActor} while the stage is drawn.
+ */
+public class EntityRenderSystem extends EntitySystem {
+    private ImmutableArray<Entity> spriteEntities, spriterEntities;
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        spriteEntities = engine.getEntitiesFor(EcsTypes.SPRITES);
+        spriterEntities = engine.getEntitiesFor(EcsTypes.SPRITERS);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        spriteEntities = null;
+        spriterEntities = null;
+    }
+
+    public void draw(Batch batch, float parentAlpha) {
+        if (spriteEntities == null) {
+            return;
+        }
+        float color = batch.getPackedColor();
+        for (int i = 0; i < spriteEntities.size(); i++) {
+            Entity entity = spriteEntities.get(i);
+            SpriteComponent sprite = EcsTypes.SPRITE.get(entity);
+            if (sprite.region == null) {
+                continue;
+            }
+            TransformComponent transform = EcsTypes.TRANSFORM.get(entity);
+            float originX = sprite.width / 2f, originY = sprite.height / 2f;
+            batch.setColor(sprite.color.r, sprite.color.g, sprite.color.b, sprite.color.a * parentAlpha);
+            batch.draw(sprite.region, transform.x - originX, transform.y - originY, originX, originY,
+                    sprite.width, sprite.height, 1, 1, MathUtils.radiansToDegrees * transform.angle);
+        }
+        batch.setColor(color);
+        for (int i = 0; i < spriterEntities.size(); i++) {
+            SpriterComponent spriter = EcsTypes.SPRITER.get(spriterEntities.get(i));
+            if (spriter.player != null && spriter.drawer != null) {
+                spriter.drawer.withBatch(batch).color(batch.getColor()).draw(spriter.player);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+import box2dLight.Light;
+
+/**
+ * Light following the entity's transform (unless attached to a body), destroyed when the entity is removed
+ */
+public class LightComponent implements Component, Pool.Poolable {
+    public Light light;
+    public float offsetX, offsetY;
+
+    @Override
+    public void reset() {
+        light = null;
+        offsetX = 0;
+        offsetY = 0;
+    }
+}
@@ -0,0 +1,23 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+
+/**
+ * Moves lights that are not attached to a body to their entity's transform
+ */
+public class LightSyncSystem extends IteratingSystem {
+    public LightSyncSystem() {
+        super(EcsTypes.LIGHTS, 1);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        LightComponent light = EcsTypes.LIGHT.get(entity);
+        if (light.light == null || light.light.getBody() != null) {
+            return;
+        }
+        TransformComponent transform = EcsTypes.TRANSFORM.get(entity);
+        light.light.setPosition(transform.x + light.offsetX, transform.y + light.offsetY);
+    }
+}
@@ -0,0 +1,30 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Texture drawn centered on the entity's transform, in world units
+ */
+public class SpriteComponent implements Component, Pool.Poolable {
+    public TextureRegion region;
+    public float width, height;
+    public final Color color = new Color(Color.WHITE);
+
+    public SpriteComponent set(TextureRegion region, float width, float height) {
+        this.region = region;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        region = null;
+        width = 0;
+        height = 0;
+        color.set(Color.WHITE);
+    }
+}
@@ -0,0 +1,21 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+import com.brashmonkey.spriter.Player;
+
+import de.doccrazy.shared.spriter.GdxDrawer;
+
+/**
+ * Spriter animation following the entity's transform
+ */
+public class SpriterComponent implements Component, Pool.Poolable {
+    public Player player;
+    public GdxDrawer drawer;
+
+    @Override
+    public void reset() {
+        player = null;
+        drawer = null;
+    }
+}
@@ -0,0 +1,28 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.MathUtils;
+import com.brashmonkey.spriter.Player;
+
+/**
+ * Advances Spriter animations by the frame time and moves them to their entity's transform
+ */
+public class SpriterSystem extends IteratingSystem {
+    public SpriterSystem() {
+        super(EcsTypes.SPRITERS, 1);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Player player = EcsTypes.SPRITER.get(entity).player;
+        if (player == null) {
+            return;
+        }
+        TransformComponent transform = EcsTypes.TRANSFORM.get(entity);
+        player.setPosition(transform.x, transform.y);
+        player.setAngle(MathUtils.radiansToDegrees * transform.angle);
+        player.speed = (int) (deltaTime * 1000);
+        player.update();
+    }
+}
@@ -0,0 +1,19 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+import de.doccrazy.shared.game.actor.Tasker;
+
+/**
+ * Tasks of an entity, run by the world's scheduler and cancelled when the entity is removed. Set {@link #task} to a
+ * {@link Tasker#view() view} of {@link de.doccrazy.shared.game.world.Box2dWorld#getTasker()}.
+ */
+public class TaskComponent implements Component, Pool.Poolable {
+    public Tasker task;
+
+    @Override
+    public void reset() {
+        task = null;
+    }
+}
@@ -0,0 +1,19 @@
+package de.doccrazy.shared.game.ecs;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * World position and rotation of an entity; the position is the center of its body (or sprite)
+ */
+public class TransformComponent implements Component, Pool.Poolable {
+    public float x, y;
+    public float angle;  // radians, as in Box2D
+
+    @Override
+    public void reset() {
+        x = 0;
+        y = 0;
+        angle = 0;
+    }
+}
@@ -1,7 +1,21 @@
 package de.doccrazy.shared.game.event;
 
-public abstract class Event {
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Base class for world events. Events obtained from {@link EventSource#obtainEvent(Class)} are pooled: they are
+ * returned to their pool once polled with removal, so consumers must not keep references to them.
+ */
+public abstract class Event implements Pool.Poolable {
     private float x, y;
+    Pool<Event> pool;
+    int gridStamp;
+
+    /**
+     * For pooled events; set the position with {@link #setPosition(float, float)}
+     */
+    protected Event() {
+    }
 
     public Event(float x, float y) {
         this.x = x;
@@ -15,4 +29,29 @@ public abstract class Event {
     public float getY() {
         return y;
     }
+
+    public void setPosition(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Called when a pooled event is returned; subclasses must reset their own fields and call super
+     */
+    @Override
+    public void reset() {
+        x = 0;
+        y = 0;
+    }
+
+    /**
+     * Return a pooled event that was obtained but never posted; no-op for regular events and events already freed
+     */
+    public void free() {
+        if (pool != null) {
+            Pool<Event> pool = this.pool;
+            this.pool = null;
+            pool.free(this);
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package de.doccrazy.shared.game.event;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Sort;
+
+/**
+ * Coarse uniform grid over the positions of queued events and of area subscriptions.
+ * <p>
+ * Removed events are not searched for in their cell; their stamp is invalidated instead and the stale entries are
+ * skipped by queries and compacted on post once they outnumber the live ones. Stamps increase with every post, so
+ * they also give the post order of query results.
+ * <p>
+ * Cells left empty by a compaction or clear are dropped and their buffers reused, so the maps only hold cells that
+ * currently contain something, however far events move over a level.
+ */
+class EventGrid {
+    private static final int MIN_COMPACT = 64, MAX_FREE_CELLS = 64;
+
+    private final LongMap<Cell> cells = new LongMap<>();
+    private final LongMap<Array<Subscription<?>>> subscriptionCells = new LongMap<>();
+    private final Sort sort = new Sort();
+    private final Array<Cell> freeCells = new Array<>(false, 16, Cell.class);
+    private final Array<Array<Subscription<?>>> freeSubscriptionCells = new Array<>(false, 16, Array.class);
+    private float cellSize;
+    private int stamp, live, stale;
+
+    EventGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    float getCellSize() {
+        return cellSize;
+    }
+
+    void setCellSize(float cellSize) {
+        this.cellSize = cellSize;
+        cells.clear();
+        subscriptionCells.clear();
+    }
+
+    void add(Event event) {
+        if (stale > MIN_COMPACT && stale > live) {
+            compact();
+        }
+        if (++stamp <= 0) {
+            stamp = 1;
+        }
+        event.gridStamp = stamp;
+        long key = key(cell(event.getX()), cell(event.getY()));
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = freeCells.size > 0 ? freeCells.pop() : new Cell();
+            cells.put(key, cell);
+        }
+        cell.events.add(event);
+        cell.stamps.add(stamp);
+        live++;
+    }
+
+    void remove(Event event) {
+        if (event.gridStamp != 0) {
+            event.gridStamp = 0;
+            live--;
+            stale++;
+        }
+    }
+
+    void clear() {
+        for (Cell cell : cells.values()) {
+            Event[] events = cell.events.items;
+            for (int i = 0; i < cell.events.size; i++) {
+                events[i].gridStamp = 0;
+            }
+            cell.clear();
+            if (freeCells.size < MAX_FREE_CELLS) {
+                freeCells.add(cell);
+            }
+        }
+        cells.clear();
+        live = 0;
+        stale = 0;
+    }
+
+    /**
+     * Collect the queued events of the given type within radius of (x, y) into out, in post order
+     */
+    void query(Class<?> type, float x, float y, float radius, Array<Event> out) {
+        float radius2 = radius * radius;
+        int x1 = cell(x + radius), y1 = cell(y + radius);
+        for (int cx = cell(x - radius); cx <= x1; cx++) {
+            for (int cy = cell(y - radius); cy <= y1; cy++) {
+                Cell cell = cells.get(key(cx, cy));
+                if (cell == null) {
+                    continue;
+                }
+                Event[] events = cell.events.items;
+                int[] stamps = cell.stamps.items;
+                for (int i = 0; i < cell.events.size; i++) {
+                    Event event = events[i];
+                    if (event.gridStamp == stamps[i] && type.isInstance(event)
+                            && Vector2.dst2(x, y, event.getX(), event.getY()) <= radius2) {
+                        out.add(event);
+                    }
+                }
+            }
+        }
+        sort.sort(out, EventGrid::compareStamps);
+    }
+
+    /**
+     * Register the area subscriptions in every cell their circle touches, keeping the passed (priority) order
+     */
+    void indexSubscriptions(Array<Subscription<?>> subscriptions) {
+        for (Array<Subscription<?>> cell : subscriptionCells.values()) {
+            cell.clear();
+            if (freeSubscriptionCells.size < MAX_FREE_CELLS) {
+                freeSubscriptionCells.add(cell);
+            }
+        }
+        subscriptionCells.clear();
+        for (Subscription<?> subscription : subscriptions) {
+            Vector2 center = subscription.center;
+            float radius = subscription.radius;
+            int x1 = cell(center.x + radius), y1 = cell(center.y + radius);
+            for (int cx = cell(center.x - radius); cx <= x1; cx++) {
+                for (int cy = cell(center.y - radius); cy <= y1; cy++) {
+                    long key = key(cx, cy);
+                    Array<Subscription<?>> cell = subscriptionCells.get(key);
+                    if (cell == null) {
+                        cell = freeSubscriptionCells.size > 0 ? freeSubscriptionCells.pop()
+                                : new Array<>(false, 4, Subscription.class);
+                        subscriptionCells.put(key, cell);
+                    }
+                    cell.add(subscription);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return area subscriptions whose circle may contain the event, or null
+     */
+    Array<Subscription<?>> getSubscriptions(Event event) {
+        Array<Subscription<?>> cell = subscriptionCells.get(key(cell(event.getX()), cell(event.getY())));
+        return cell == null || cell.size == 0 ? null : cell;
+    }
+
+    private void compact() {
+        for (LongMap.Values<Cell> it = cells.values(); it.hasNext(); ) {
+            Cell cell = it.next();
+            Event[] events = cell.events.items;
+            int[] stamps = cell.stamps.items;
+            int n = 0;
+            for (int i = 0; i < cell.events.size; i++) {
+                if (events[i].gridStamp == stamps[i]) {
+                    events[n] = events[i];
+                    stamps[n++] = stamps[i];
+                }
+            }
+            cell.events.truncate(n);
+            cell.stamps.size = n;
+            if (n == 0) {
+                it.remove();
+                if (freeCells.size < MAX_FREE_CELLS) {
+                    freeCells.add(cell);
+                }
+            }
+        }
+        stale = 0;
+    }
+
+    private static int compareStamps(Event a, Event b) {
+        return Integer.compare(a.gridStamp, b.gridStamp);
+    }
+
+    private int cell(float coord) {
+        return (int) Math.floor(coord / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static class Cell {
+        final Array<Event> events = new Array<>(false, 8, Event.class);
+        final IntArray stamps = new IntArray(false, 8);
+
+        void clear() {
+            events.clear();
+            stamps.clear();
+        }
+    }
+}
@@ -1,31 +1,527 @@
 package de.doccrazy.shared.game.event;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ReflectionPool;
+import com.badlogic.gdx.utils.Sort;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Event queue with one bucket per concrete event class, so polling a type only touches events of matching classes.
+ * Polling a supertype visits all matching buckets in post order. Consumers must not poll again while being called.
+ * <p>
+ * Instead of polling each tick, handlers can {@link #subscribe subscribe} to a type with a priority; all queued
+ * events are then pushed to them in one pass by {@link #dispatchEvents()}, which
+ * {@link de.doccrazy.shared.game.world.Box2dWorld} calls once per frame.
+ * <p>
+ * Events are also indexed by position in a coarse grid, so listeners for local events (noises, explosions) can use
+ * {@link #pollEventsNear} or an area subscription instead of distance-testing every event. The index is only built
+ * from the first of these on, so sources without local listeners do not pay for it.
+ * <p>
+ * High-frequency events should be {@link #obtainEvent(Class) obtained} from the per-type pools instead of being
+ * allocated; they are returned automatically when polled with removal or cleared.
+ * <p>
+ * All methods except {@link #postEventAsync(Event)} must be called from the main thread.
+ */
 public class EventSource {
-    private final List<Event> eventQueue = new ArrayList<>();
+    private final ObjectMap<Class<?>, EventQueue> queues = new ObjectMap<>();
+    private final Array<EventQueue> queueList = new Array<>(false, 8, EventQueue.class);
+    private final ObjectMap<Class<?>, Array<EventQueue>> matching = new ObjectMap<>();
+    private final ObjectMap<Class<?>, Pool<? extends Event>> pools = new ObjectMap<>();
+    private final Array<Subscription<?>> subscriptions = new Array<>(false, 8, Subscription.class);
+    private final Array<Subscription<?>> areaSubscriptions = new Array<>(false, 8, Subscription.class);
+    private final Array<EventQueue> dispatchQueues = new Array<>(false, 8, EventQueue.class);
+    private int subscriptionOrder, subscriptionVersion, areaVersion = -1;
+    private final EventGrid grid = new EventGrid(4f);
+    private final Array<Event> nearby = new Array<>(false, 16, Event.class);
+    private final Sort sort = new Sort();
+    private int sequence, size;
+    private boolean dispatching, clearRequested, gridIndexed;
+
+    private final ConcurrentLinkedQueue<AsyncEvent> asyncQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger asyncDepth = new AtomicInteger();
+    private int maxAsyncDepth, asyncCount;
+    private long asyncLatencySum, maxAsyncLatency;
+
+    /**
+     * Register an observer: receives all events assignable to type, which stay queued for other handlers and polls
+     * @param priority higher priorities are called first; equal priorities in subscription order
+     */
+    public <T extends Event> Subscription<T> subscribe(Class<T> type, int priority, Consumer<? super T> handler) {
+        return subscribe(type, priority, handler, false);
+    }
+
+    /**
+     * @param consuming true to remove the received events from the queue after dispatch (freeing pooled ones) and
+     *                  to not pass them to lower priorities
+     */
+    public <T extends Event> Subscription<T> subscribe(Class<T> type, int priority, Consumer<? super T> handler,
+                                                       boolean consuming) {
+        Subscription<T> subscription = new Subscription<>(this, type, priority, consuming, handler,
+                subscriptionOrder++, null, 0);
+        subscriptions.add(subscription);
+        subscriptionVersion++;
+        return subscription;
+    }
+
+    /**
+     * Register an observer that only receives events within radius of center. Area subscriptions are looked up
+     * through the event grid, so their radius should be in the order of the {@link #setEventCellSize cell size}.
+     * @param center followed live, e.g. an actor's position
+     */
+    public <T extends Event> Subscription<T> subscribe(Class<T> type, int priority, Vector2 center, float radius,
+                                                       Consumer<? super T> handler) {
+        indexGrid();
+        Subscription<T> subscription = new Subscription<>(this, type, priority, false, handler,
+                subscriptionOrder++, center, radius);
+        areaSubscriptions.add(subscription);
+        subscriptionVersion++;
+        return subscription;
+    }
+
+    /**
+     * Start indexing events by position, adding the queued ones in post order
+     */
+    private void indexGrid() {
+        if (gridIndexed) {
+            return;
+        }
+        gridIndexed = true;
+        int[] cursors = new int[queueList.size];
+        EventQueue[] items = queueList.items;
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < queueList.size; i++) {
+                if (cursors[i] < items[i].events.size && (next < 0
+                        || items[i].sequences.get(cursors[i]) < items[next].sequences.get(cursors[next]))) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            grid.add(items[next].events.get(cursors[next]++));
+        }
+    }
+
+    void unsubscribe(Subscription<?> subscription) {
+        (subscription.center == null ? subscriptions : areaSubscriptions).removeValue(subscription, true);
+        subscriptionVersion++;
+    }
+
+    /**
+     * Size of the grid cells events are indexed in, in world units (default 4); may only be changed while no
+     * events are queued
+     */
+    public void setEventCellSize(float cellSize) {
+        if (size > 0) {
+            throw new IllegalStateException("Cannot change cell size while events are queued");
+        }
+        grid.setCellSize(cellSize);
+    }
+
+    public float getEventCellSize() {
+        return grid.getCellSize();
+    }
+
+    /**
+     * Push all queued events to the subscribers of their type, in post order. Each event is dispatched once; events
+     * posted by handlers are dispatched in the next call. Only events that have subscribers are visited.
+     * <p>
+     * Handlers may post events and poll without removing; polls with removal throw an IllegalStateException, and
+     * {@link #clearEvents()} ends the dispatch and clears once the current handler returns.
+     */
+    public void dispatchEvents() {
+        if (dispatching) {
+            throw new IllegalStateException("Already dispatching");
+        }
+        if (size == 0 || subscriptions.size + areaSubscriptions.size == 0) {
+            return;
+        }
+        dispatching = true;
+        try {
+            dispatchQueued();
+        } finally {
+            dispatching = false;
+            dispatchQueues.clear();
+        }
+        if (clearRequested) {
+            clearRequested = false;
+            clearEvents();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void dispatchQueued() {
+        if (areaSubscriptions.size > 0) {
+            if (areaVersion != subscriptionVersion) {
+                areaVersion = subscriptionVersion;
+                sort.sort(areaSubscriptions, Subscription::compare);
+            }
+            // centers move, so re-index every dispatch
+            grid.indexSubscriptions(areaSubscriptions);
+        }
+        dispatchQueues.clear();
+        for (EventQueue queue : queueList) {
+            if (queue.events.size > queue.dispatched
+                    && (queue.getSubscribers(this).size > 0 || queue.areaSubscribed)) {
+                queue.cursor = queue.dispatched;
+                queue.limit = queue.events.size;
+                dispatchQueues.add(queue);
+            }
+        }
+        EventQueue[] items = dispatchQueues.items;
+        while (!clearRequested) {
+            EventQueue next = null;
+            for (int i = 0; i < dispatchQueues.size; i++) {
+                EventQueue queue = items[i];
+                if (queue.cursor < queue.limit
+                        && (next == null || queue.sequences.get(queue.cursor) < next.sequences.get(next.cursor))) {
+                    next = queue;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Event event = next.events.get(next.cursor++);
+            Array<Subscription<?>> subscribers = next.subscribers;
+            Array<Subscription<?>> local = next.areaSubscribed ? grid.getSubscriptions(event) : null;
+            int localSize = local == null ? 0 : local.size;
+            // merge global and area subscribers by priority
+            for (int i = 0, j = 0; i < subscribers.size || j < localSize; ) {
+                Subscription subscription = j == localSize
+                        || (i < subscribers.size && Subscription.compare(subscribers.get(i), local.get(j)) < 0)
+                        ? subscribers.get(i++) : local.get(j++);
+                if (!subscription.active || (subscription.center != null && !subscription.accepts(event))) {
+                    continue;
+                }
+                subscription.handler.accept(event);
+                if (subscription.consuming || clearRequested) {
+                    break;
+                }
+            }
+        }
+        if (clearRequested) {
+            return;
+        }
+        for (int i = 0; i < dispatchQueues.size; i++) {
+            EventQueue queue = items[i];
+            int start = queue.dispatched;
+            queue.dispatched = queue.limit;
+            if (queue.consumed) {
+                // events before start were dispatched earlier and are kept for polls
+                size -= queue.limit - start;
+                queue.remove(start, queue.limit - start);
+            }
+        }
+    }
+
+    /**
+     * Get a pooled event of the given type, to be initialized and posted; requires a no-arg constructor. Must not
+     * be used for {@link #postEventAsync(Event)}, as the pools are not thread-safe.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> T obtainEvent(Class<T> type) {
+        Pool<T> pool = getEventPool(type);
+        T event = pool.obtain();
+        event.pool = (Pool<Event>) pool;
+        return event;
+    }
+
+    /**
+     * @return the pool used by {@link #obtainEvent(Class)}, e.g. to check its peak
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> Pool<T> getEventPool(Class<T> type) {
+        Pool<T> pool = (Pool<T>) pools.get(type);
+        if (pool == null) {
+            pool = new ReflectionPool<>(type);
+            pools.put(type, pool);
+        }
+        return pool;
+    }
 
     public void postEvent(Event event) {
-        eventQueue.add(event);
+        if (gridIndexed) {
+            grid.add(event);
+        }
+        EventQueue queue = queues.get(event.getClass());
+        if (queue == null) {
+            queue = createQueue(event.getClass());
+        }
+        if (size == 0) {
+            sequence = 0;
+        }
+        queue.add(event, sequence++);
+        size++;
+    }
+
+    /**
+     * Post an event from any thread (lock-free); it becomes visible to polls after the next
+     * {@link #drainAsyncEvents()}, which {@link de.doccrazy.shared.game.world.Box2dWorld} does at the start of each
+     * update
+     */
+    public void postEventAsync(Event event) {
+        asyncQueue.offer(new AsyncEvent(event, TimeUtils.nanoTime()));
+        asyncDepth.incrementAndGet();
+    }
+
+    /**
+     * Move events posted from other threads into the main queue, in the order they were enqueued
+     */
+    public void drainAsyncEvents() {
+        int depth = asyncDepth.get();
+        if (depth == 0) {
+            return;
+        }
+        maxAsyncDepth = Math.max(maxAsyncDepth, depth);
+        long now = TimeUtils.nanoTime();
+        // only events enqueued before this point, so producers cannot keep the main thread draining
+        AsyncEvent async;
+        for (int i = 0; i < depth && (async = asyncQueue.poll()) != null; i++) {
+            asyncDepth.decrementAndGet();
+            long latency = now - async.postedNanos;
+            asyncLatencySum += latency;
+            maxAsyncLatency = Math.max(maxAsyncLatency, latency);
+            asyncCount++;
+            postEvent(async.event);
+        }
+    }
+
+    /**
+     * @return number of events posted from other threads and not drained yet
+     */
+    public int getAsyncQueueDepth() {
+        return asyncDepth.get();
+    }
+
+    /**
+     * @return highest queue depth seen by {@link #drainAsyncEvents()} since the last reset
+     */
+    public int getMaxAsyncQueueDepth() {
+        return maxAsyncDepth;
+    }
+
+    /**
+     * @return average time between {@link #postEventAsync(Event)} and the drain, in nanoseconds
+     */
+    public long getAvgAsyncLatencyNanos() {
+        return asyncCount == 0 ? 0 : asyncLatencySum / asyncCount;
+    }
+
+    public long getMaxAsyncLatencyNanos() {
+        return maxAsyncLatency;
+    }
+
+    public void resetAsyncStats() {
+        maxAsyncDepth = 0;
+        asyncCount = 0;
+        asyncLatencySum = 0;
+        maxAsyncLatency = 0;
+    }
+
+    private EventQueue createQueue(Class<?> type) {
+        EventQueue queue = new EventQueue(type, grid);
+        queues.put(type, queue);
+        queueList.add(queue);
+        for (ObjectMap.Entry<Class<?>, Array<EventQueue>> entry : matching) {
+            if (entry.key.isAssignableFrom(type)) {
+                entry.value.add(queue);
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * @return all buckets holding events assignable to type; cached per polled type
+     */
+    private Array<EventQueue> matchingQueues(Class<?> type) {
+        Array<EventQueue> result = matching.get(type);
+        if (result == null) {
+            result = new Array<>(false, 4, EventQueue.class);
+            for (EventQueue queue : queueList) {
+                if (type.isAssignableFrom(queue.type)) {
+                    result.add(queue);
+                }
+            }
+            matching.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * Discard all queued events; while {@link #dispatchEvents() dispatching}, this happens when the current handler
+     * returns
+     */
+    public void clearEvents() {
+        if (dispatching) {
+            clearRequested = true;
+            return;
+        }
+        for (EventQueue queue : queueList) {
+            queue.clear();
+        }
+        grid.clear();
+        size = 0;
+    }
+
+    /**
+     * Pass all queued events of the given type within radius of center to the consumer, in post order, without
+     * removing them; only the grid cells overlapping the circle are searched
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Event> void pollEventsNear(Class<T> type, Vector2 center, float radius,
+                                                 Consumer<? super T> consumer) {
+        indexGrid();
+        if (size == 0) {
+            return;
+        }
+        grid.query(type, center.x, center.y, radius, nearby);
+        Event[] items = nearby.items;
+        try {
+            for (int i = 0, n = nearby.size; i < n; i++) {
+                consumer.accept((T) items[i]);
+            }
+        } finally {
+            nearby.clear();
+        }
     }
 
     public <T extends Event> void pollEvents(Class<T> type, Consumer<? super T> consumer) {
         pollEvents(type, consumer, true);
     }
 
+    /**
+     * @param remove true to remove the passed events (freeing pooled ones); not allowed while
+     *               {@link #dispatchEvents() dispatching}
+     */
+    @SuppressWarnings("unchecked")
     public <T extends Event> void pollEvents(Class<T> type, Consumer<? super T> consumer, boolean remove) {
-        eventQueue.removeIf(new Predicate<Event>() {
-            @Override
-            public boolean test(Event event) {
-                if (type.isInstance(event)) {
-                    consumer.accept((T)event);
-                    return remove;
+        if (remove && dispatching) {
+            throw new IllegalStateException("Cannot remove events while dispatching");
+        }
+        if (size == 0) {
+            return;
+        }
+        Array<EventQueue> candidates = matchingQueues(type);
+        EventQueue[] items = candidates.items;
+        // events posted by the consumer are kept for the next poll; own cursors, so a dispatch can poll
+        for (int i = 0; i < candidates.size; i++) {
+            items[i].pollCursor = 0;
+            items[i].pollLimit = items[i].events.size;
+        }
+        while (true) {
+            EventQueue next = null;
+            for (int i = 0; i < candidates.size; i++) {
+                EventQueue queue = items[i];
+                if (queue.pollCursor < queue.pollLimit && (next == null
+                        || queue.sequences.get(queue.pollCursor) < next.sequences.get(next.pollCursor))) {
+                    next = queue;
                 }
-                return false;
             }
-        });
+            if (next == null) {
+                break;
+            }
+            consumer.accept((T) next.events.get(next.pollCursor++));
+        }
+        if (remove) {
+            for (int i = 0; i < candidates.size; i++) {
+                size -= items[i].pollLimit;
+                items[i].remove(0, items[i].pollLimit);
+            }
+        }
+    }
+
+    private static class AsyncEvent {
+        final Event event;
+        final long postedNanos;
+
+        AsyncEvent(Event event, long postedNanos) {
+            this.event = event;
+            this.postedNanos = postedNanos;
+        }
+    }
+
+    private static class EventQueue {
+        final Class<?> type;
+        final Array<Event> events = new Array<>(Event.class);
+        final IntArray sequences = new IntArray();
+        final EventGrid grid;
+        int cursor, limit, dispatched, pollCursor, pollLimit;
+        Array<Subscription<?>> subscribers;
+        boolean consumed, areaSubscribed;
+        private int subscriberVersion = -1;
+
+        EventQueue(Class<?> type, EventGrid grid) {
+            this.type = type;
+            this.grid = grid;
+        }
+
+        /**
+         * @return subscriptions for this event class by descending priority; rebuilt after subscription changes
+         */
+        Array<Subscription<?>> getSubscribers(EventSource source) {
+            if (subscriberVersion != source.subscriptionVersion) {
+                subscriberVersion = source.subscriptionVersion;
+                // new array, so a dispatch in progress keeps iterating the old one
+                subscribers = new Array<>(false, 4, Subscription.class);
+                consumed = false;
+                for (Subscription<?> subscription : source.subscriptions) {
+                    if (subscription.type.isAssignableFrom(type)) {
+                        subscribers.add(subscription);
+                        consumed |= subscription.consuming;
+                    }
+                }
+                source.sort.sort(subscribers, Subscription::compare);
+                areaSubscribed = false;
+                for (Subscription<?> subscription : source.areaSubscriptions) {
+                    areaSubscribed |= subscription.type.isAssignableFrom(type);
+                }
+            }
+            return subscribers;
+        }
+
+        void add(Event event, int sequence) {
+            events.add(event);
+            sequences.add(sequence);
+        }
+
+        void remove(int start, int count) {
+            if (count == 0) {
+                return;
+            }
+            Event[] items = events.items;
+            for (int i = start; i < start + count; i++) {
+                grid.remove(items[i]);
+                items[i].free();
+            }
+            if (dispatched > start) {
+                dispatched = Math.max(start, dispatched - count);
+            }
+            if (count == events.size) {
+                events.clear();
+                sequences.clear();
+            } else {
+                events.removeRange(start, start + count - 1);
+                sequences.removeRange(start, start + count - 1);
+            }
+        }
+
+        void clear() {
+            Event[] items = events.items;
+            for (int i = 0; i < events.size; i++) {
+                items[i].free();
+            }
+            dispatched = 0;
+            events.clear();
+            sequences.clear();
+        }
     }
 }
@@ -0,0 +1,84 @@
+package de.doccrazy.shared.game.event;
+
+import java.util.function.Consumer;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Handler registered with {@link EventSource#subscribe}; events are pushed to it once per frame by
+ * {@link EventSource#dispatchEvents()}
+ */
+public final class Subscription<T extends Event> {
+    final EventSource source;
+    final Class<T> type;
+    final int priority;
+    final boolean consuming;
+    final Consumer<? super T> handler;
+    final int order;
+    final Vector2 center;
+    final float radius;
+    boolean active = true;
+
+    Subscription(EventSource source, Class<T> type, int priority, boolean consuming, Consumer<? super T> handler,
+                 int order, Vector2 center, float radius) {
+        this.source = source;
+        this.type = type;
+        this.priority = priority;
+        this.consuming = consuming;
+        this.handler = handler;
+        this.order = order;
+        this.center = center;
+        this.radius = radius;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return true if this subscription removes the events it receives and hides them from lower priorities
+     */
+    public boolean isConsuming() {
+        return consuming;
+    }
+
+    /**
+     * @return center of the area of interest (followed live), or null if events are received everywhere
+     */
+    public Vector2 getCenter() {
+        return center;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    boolean accepts(Event event) {
+        return type.isInstance(event) && center.dst2(event.getX(), event.getY()) <= radius * radius;
+    }
+
+    /**
+     * Orders by descending priority, then by subscription order
+     */
+    static int compare(Subscription<?> a, Subscription<?> b) {
+        return a.priority != b.priority ? Integer.compare(b.priority, a.priority) : Integer.compare(a.order, b.order);
+    }
+
+    /**
+     * Stop receiving events; may be called from within a handler
+     */
+    public void cancel() {
+        if (active) {
+            active = false;
+            source.unsubscribe(this);
+        }
+    }
+}
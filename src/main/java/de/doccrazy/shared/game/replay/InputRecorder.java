@@ -0,0 +1,58 @@
+package de.doccrazy.shared.game.replay;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+import de.doccrazy.shared.game.base.MovementInputListener;
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Records the frame deltas and the movement input state of a play session for a deterministic replay with
+ * {@link InputReplayer}. Start recording right after the level has been (re)built, then use {@link #update(float)}
+ * instead of calling {@link Box2dWorld#update(float)} directly.
+ */
+public class InputRecorder {
+    private final Box2dWorld<?> world;
+    private final MovementInputListener input;
+    private InputRecording recording;
+
+    /**
+     * @param input the listener the game reads its movement from
+     */
+    public InputRecorder(Box2dWorld<?> world, MovementInputListener input) {
+        this.world = world;
+        this.input = input;
+    }
+
+    /**
+     * Start a new recording; reseeds MathUtils.random so random decisions are repeated on replay
+     */
+    public void start(long seed) {
+        MathUtils.random.setSeed(seed);
+        recording = new InputRecording(seed, world.getPhysicsStep());
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Capture the input state as it is at the start of the frame, then update the world
+     */
+    public void update(float delta) {
+        if (recording != null) {
+            Vector2 movement = input.getMovement();
+            recording.add(delta, movement.x, movement.y, input.isJump());
+        }
+        world.update(delta);
+    }
+
+    /**
+     * @return the finished recording
+     */
+    public InputRecording stop() {
+        InputRecording result = recording;
+        recording = null;
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package de.doccrazy.shared.game.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Frame deltas and movement input of a play session, as captured by {@link InputRecorder}
+ */
+public class InputRecording {
+    private static final int MAGIC = 0x52504c59; // "RPLY"
+    private static final int VERSION = 1;
+
+    private final long seed;
+    private final float physicsStep;
+    final FloatArray deltas = new FloatArray();
+    final FloatArray moveX = new FloatArray(), moveY = new FloatArray();
+    final BooleanArray jump = new BooleanArray();
+
+    InputRecording(long seed, float physicsStep) {
+        this.seed = seed;
+        this.physicsStep = physicsStep;
+    }
+
+    void add(float delta, float x, float y, boolean jumping) {
+        deltas.add(delta);
+        moveX.add(x);
+        moveY.add(y);
+        jump.add(jumping);
+    }
+
+    /**
+     * @return seed of MathUtils.random at the start of the recording
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return physics step of the recorded world; replays are only deterministic with the same step
+     */
+    public float getPhysicsStep() {
+        return physicsStep;
+    }
+
+    public int getFrameCount() {
+        return deltas.size;
+    }
+
+    public float getDelta(int frame) {
+        return deltas.get(frame);
+    }
+
+    /**
+     * @return sum of all frame deltas in seconds
+     */
+    public float getDuration() {
+        float sum = 0;
+        for (int i = 0; i < deltas.size; i++) {
+            sum += deltas.get(i);
+        }
+        return sum;
+    }
+
+    public void write(FileHandle file) {
+        DataOutputStream out = new DataOutputStream(file.write(false, 64 * 1024));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeFloat(physicsStep);
+            out.writeInt(deltas.size);
+            for (int i = 0; i < deltas.size; i++) {
+                out.writeFloat(deltas.get(i));
+                out.writeFloat(moveX.get(i));
+                out.writeFloat(moveY.get(i));
+                out.writeBoolean(jump.get(i));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing recording " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static InputRecording read(FileHandle file) {
+        DataInputStream in = new DataInputStream(file.read(64 * 1024));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new GdxRuntimeException("Not a recording or unsupported version: " + file);
+            }
+            InputRecording recording = new InputRecording(in.readLong(), in.readFloat());
+            int frames = in.readInt();
+            for (int i = 0; i < frames; i++) {
+                recording.add(in.readFloat(), in.readFloat(), in.readFloat(), in.readBoolean());
+            }
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading recording " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+}
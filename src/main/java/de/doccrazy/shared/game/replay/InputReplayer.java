@@ -0,0 +1,85 @@
+package de.doccrazy.shared.game.replay;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import de.doccrazy.shared.game.world.Box2dWorld;
+
+/**
+ * Drives a world through a recorded session with exactly the recorded frame deltas, and thereby the same fixed
+ * physics steps, measuring the time of each update. Works with headless worlds for repeatable benchmark runs: build
+ * the level as for the recording, hand {@link #getInput()} to the actors reading movement input and call
+ * {@link #run()}.
+ */
+public class InputReplayer {
+    private final Box2dWorld<?> world;
+    private final InputRecording recording;
+    private final ReplayMovementListener input = new ReplayMovementListener();
+    private final long[] frameNanos;
+    private int frame;
+
+    public InputReplayer(Box2dWorld<?> world, InputRecording recording) {
+        if (world.getPhysicsStep() != recording.getPhysicsStep()) {
+            throw new IllegalArgumentException("Recording uses physics step " + recording.getPhysicsStep()
+                    + ", world uses " + world.getPhysicsStep());
+        }
+        this.world = world;
+        this.recording = recording;
+        frameNanos = new long[recording.getFrameCount()];
+    }
+
+    public ReplayMovementListener getInput() {
+        return input;
+    }
+
+    /**
+     * Replay the next frame
+     * @return false if the recording has ended
+     */
+    public boolean step() {
+        if (frame >= recording.getFrameCount()) {
+            return false;
+        }
+        if (frame == 0) {
+            // same point as InputRecorder.start: after the level has been built
+            MathUtils.random.setSeed(recording.getSeed());
+        }
+        input.set(recording.moveX.get(frame), recording.moveY.get(frame), recording.jump.get(frame));
+        long start = TimeUtils.nanoTime();
+        world.update(recording.getDelta(frame));
+        frameNanos[frame] = TimeUtils.nanoTime() - start;
+        world.getProfiler().endFrame();
+        frame++;
+        return true;
+    }
+
+    /**
+     * Replay all remaining frames
+     */
+    public void run() {
+        while (step()) {
+        }
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * @return wall time of {@link Box2dWorld#update(float)} per replayed frame, in nanoseconds
+     */
+    public long getFrameNanos(int frame) {
+        return frameNanos[frame];
+    }
+
+    /**
+     * @return total update time of all replayed frames, in nanoseconds
+     */
+    public long getTotalNanos() {
+        long sum = 0;
+        for (int i = 0; i < frame; i++) {
+            sum += frameNanos[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,39 @@
+package de.doccrazy.shared.game.replay;
+
+import com.badlogic.gdx.math.Vector2;
+
+import de.doccrazy.shared.game.base.MovementInputListener;
+
+/**
+ * Movement input fed from an {@link InputRecording}; use it in place of the keyboard or gamepad listener while
+ * replaying. Jumps behave like the keyboard listener: the recorded state is set at the start of each frame and
+ * consumed by {@link #pollJump()}.
+ */
+public class ReplayMovementListener implements MovementInputListener {
+    private final Vector2 movement = new Vector2();
+    private boolean jump;
+
+    void set(float x, float y, boolean jump) {
+        movement.set(x, y);
+        this.jump = jump;
+    }
+
+    @Override
+    public Vector2 getMovement() {
+        return movement;
+    }
+
+    @Override
+    public boolean isJump() {
+        return jump;
+    }
+
+    @Override
+    public boolean pollJump() {
+        if (jump) {
+            jump = false;
+            return true;
+        }
+        return false;
+    }
+}
@@ -31,20 +31,14 @@ public class PathTriangulator {
             switch(type) {
                 case PathIterator.SEG_MOVETO:
                     start.set(coords[0], coords[1]);
-                    System.out.println("Iter move " + start);
                     break;
                 case PathIterator.SEG_LINETO:
                     polyPoints.add(new Vector2(coords[0] - start.x, coords[1] - start.y));
-                    System.out.println("Iter line " + polyPoints.get(polyPoints.size() - 1));
                     break;
                 case PathIterator.SEG_CLOSE:
-                    System.out.print("Iter close");
                     if (Math.abs(polyPoints.get(polyPoints.size()-1).x) > 0.001f
                             || Math.abs(polyPoints.get(polyPoints.size()-1).y) > 0.001f) {
                         polyPoints.add(Vector2.Zero);
-                        System.out.println(" (insert start point)");
-                    } else {
-                        System.out.println();
                     }
 
                     List<PolygonShape> shapes = PolyRenderer.createPolyShape(polyPoints);
@@ -0,0 +1,95 @@
+package de.doccrazy.shared.game.ui;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Disposable;
+
+import de.doccrazy.shared.core.FrameProfiler;
+import de.doccrazy.shared.core.FrameProfiler.Phase;
+
+/**
+ * Text overlay showing the min/avg/p99 times of a {@link FrameProfiler}, refreshed twice per second
+ */
+public class ProfilerOverlay extends Actor implements Disposable {
+    private static final float REFRESH_INTERVAL = 0.5f;
+
+    private final FrameProfiler profiler;
+    private final BitmapFont font;
+    private final boolean ownsFont;
+    private final StringBuilder text = new StringBuilder();
+    private float refreshTime;
+
+    /**
+     * Use the default libGDX font, which is released by {@link #dispose()}
+     */
+    public ProfilerOverlay(FrameProfiler profiler) {
+        this(profiler, new BitmapFont(), true);
+    }
+
+    /**
+     * @param font owned by the caller, not released by {@link #dispose()}
+     */
+    public ProfilerOverlay(FrameProfiler profiler, BitmapFont font) {
+        this(profiler, font, false);
+    }
+
+    private ProfilerOverlay(FrameProfiler profiler, BitmapFont font, boolean ownsFont) {
+        this.profiler = profiler;
+        this.font = font;
+        this.ownsFont = ownsFont;
+        setTouchable(Touchable.disabled);
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        refreshTime -= delta;
+        if (refreshTime <= 0) {
+            refreshTime = REFRESH_INTERVAL;
+            refreshText();
+        }
+    }
+
+    private void refreshText() {
+        text.setLength(0);
+        text.append("phase  min / avg / p99 ms\n");
+        for (Phase phase : Phase.values()) {
+            text.append(phase.name().toLowerCase()).append("  ");
+            appendMs(profiler.getMin(phase)).append(" / ");
+            appendMs(profiler.getAvg(phase)).append(" / ");
+            appendMs(profiler.getP99(phase)).append('\n');
+        }
+        text.append("total avg ");
+        appendMs(profiler.getAvgTotal());
+    }
+
+    private StringBuilder appendMs(float ms) {
+        int hundredths = Math.round(ms * 100);
+        text.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) {
+            text.append('0');
+        }
+        return text.append(hundredths % 100);
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        if (getStage() == null) {
+            return;
+        }
+        font.draw(batch, text, 5, getStage().getHeight() - 5, 0, Align.left, false);
+    }
+
+    /**
+     * Release the font if it was created by this overlay
+     */
+    @Override
+    public void dispose() {
+        if (ownsFont) {
+            font.dispose();
+        }
+    }
+}
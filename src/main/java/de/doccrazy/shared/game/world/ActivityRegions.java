@@ -0,0 +1,156 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * Puts actors far away from all focus points (e.g. the camera or the player) to sleep: their bodies are removed
+ * from the simulation via {@link Body#setActive(boolean)} and the actors stop ticking, or tick at a reduced rate.
+ * Reactivation happens with hysteresis when they come back in range. Non-static bodies without an actor (debris,
+ * props) are deactivated the same way; only bodies deactivated here are activated again, so bodies the game turned
+ * off itself stay off. Inactive while no focus point is set.
+ */
+public class ActivityRegions {
+    private final Array<Vector2> foci = new Array<>();
+    private final Array<Body> bodies = new Array<>();
+    // bodies without an actor deactivated here, with their destroy count to detect recycled Body objects
+    private ObjectIntMap<Body> parked = new ObjectIntMap<>(), parkedNext = new ObjectIntMap<>();
+    private float radius = 50f, hysteresis = 10f;
+    private float checkInterval = 0.25f;
+    private float dormantTickInterval;
+    private float timer;
+    private int dormantCount;
+
+    /**
+     * @param focus will be read on every check, so it can be updated in place (e.g. camera position)
+     */
+    public void addFocus(Vector2 focus) {
+        foci.add(focus);
+    }
+
+    public void removeFocus(Vector2 focus) {
+        foci.removeValue(focus, true);
+    }
+
+    public void clearFoci() {
+        foci.clear();
+    }
+
+    /**
+     * @param radius bodies within this distance of a focus point are (re)activated
+     * @param hysteresis bodies are only deactivated beyond radius + hysteresis
+     */
+    public void setRadius(float radius, float hysteresis) {
+        this.radius = radius;
+        this.hysteresis = hysteresis;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Seconds between two activity checks (default 0.25)
+     */
+    public void setCheckInterval(float checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public float getDormantTickInterval() {
+        return dormantTickInterval;
+    }
+
+    /**
+     * @param dormantTickInterval seconds between ticks of dormant actors, which receive the accumulated delta;
+     *                            0 (default) to not tick them at all
+     */
+    public void setDormantTickInterval(float dormantTickInterval) {
+        this.dormantTickInterval = dormantTickInterval;
+    }
+
+    /**
+     * @return number of dormant actors and deactivated bodies without an actor as of the last check
+     */
+    public int getDormantCount() {
+        return dormantCount;
+    }
+
+    void update(Box2dWorld<?> world, float delta) {
+        if (foci.size == 0) {
+            return;
+        }
+        timer += delta;
+        if (timer < checkInterval) {
+            return;
+        }
+        timer = 0;
+
+        float wakeDst2 = radius * radius;
+        float sleepDst2 = (radius + hysteresis) * (radius + hysteresis);
+        dormantCount = 0;
+        world.box2dWorld.getBodies(bodies);
+        for (Body body : bodies) {
+            if (body.getType() == BodyDef.BodyType.StaticBody) {
+                continue;
+            }
+            if (!(body.getUserData() instanceof WorldActor)) {
+                updateBody(world, body, wakeDst2, sleepDst2);
+                continue;
+            }
+            WorldActor<?> actor = (WorldActor<?>) body.getUserData();
+            if (actor.isAlwaysActive()) {
+                continue;
+            }
+            float dst2 = minFocusDst2(body.getPosition());
+            if (actor.isDormant()) {
+                if (dst2 < wakeDst2) {
+                    body.setActive(true);
+                    actor.setDormant(false);
+                } else {
+                    dormantCount++;
+                }
+            } else if (dst2 > sleepDst2 && body.isActive()) {
+                body.setActive(false);
+                actor.setDormant(true);
+                dormantCount++;
+            }
+        }
+        bodies.clear();
+        ObjectIntMap<Body> swap = parked;
+        parked = parkedNext;
+        parkedNext = swap;
+        parkedNext.clear();
+    }
+
+    private void updateBody(Box2dWorld<?> world, Body body, float wakeDst2, float sleepDst2) {
+        int incarnation = world.getBodyIncarnation(body);
+        if (!body.isActive()) {
+            if (parked.get(body, -1) != incarnation) {
+                return;  // deactivated by the game
+            }
+            if (minFocusDst2(body.getPosition()) < wakeDst2) {
+                body.setActive(true);
+            } else {
+                parkedNext.put(body, incarnation);
+                dormantCount++;
+            }
+        } else if (minFocusDst2(body.getPosition()) > sleepDst2) {
+            body.setActive(false);
+            parkedNext.put(body, incarnation);
+            dormantCount++;
+        }
+    }
+
+    private float minFocusDst2(Vector2 pos) {
+        float min = Float.MAX_VALUE;
+        for (int i = 0; i < foci.size; i++) {
+            min = Math.min(min, foci.get(i).dst2(pos));
+        }
+        return min;
+    }
+}
@@ -0,0 +1,280 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Filter;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.QueryCallback;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Reusable, allocation-free spatial query for bodies. Configure the filters, then run one of the query methods;
+ * results are written to caller-provided arrays. Radius queries measure the distance to the bounding box of the
+ * closest fixture, so large bodies reaching into the radius are found even if their origin is outside.
+ * Not reentrant: do not run another query on the same instance from within a result loop.
+ */
+public class BodyQuery implements QueryCallback {
+    private static final int MODE_CLOSEST = 0, MODE_COLLECT = 1, MODE_NEAREST = 2;
+
+    private final World world;
+    private final ObjectSet<Body> visited = new ObjectSet<>();
+    private final FloatArray distances = new FloatArray();
+    private final Vector2 vertex = new Vector2();
+
+    private short categoryMask;
+    private BodyDef.BodyType bodyType;
+    private boolean includeSensors;
+    private Body exclude;
+
+    private int mode;
+    private boolean measureFixtures;
+    private float centerX, centerY, maxDst2;
+    private float minX, minY, maxX, maxY;
+    private int maxResults;
+    private Array<Body> results;
+    private Body closest;
+    private float closestDst2;
+
+    public BodyQuery(World world) {
+        this.world = world;
+        reset();
+    }
+
+    /**
+     * Reset filters to defaults: all categories, all body types, no sensors, no excluded body
+     */
+    public BodyQuery reset() {
+        categoryMask = (short) 0xFFFF;
+        bodyType = null;
+        includeSensors = false;
+        exclude = null;
+        return this;
+    }
+
+    /**
+     * Only report fixtures with any of these category bits set
+     */
+    public BodyQuery categories(short mask) {
+        categoryMask = mask;
+        return this;
+    }
+
+    /**
+     * Only report bodies of this type; null for any
+     */
+    public BodyQuery type(BodyDef.BodyType type) {
+        bodyType = type;
+        return this;
+    }
+
+    public BodyQuery sensors(boolean include) {
+        includeSensors = include;
+        return this;
+    }
+
+    public BodyQuery exclude(Body body) {
+        exclude = body;
+        return this;
+    }
+
+    /**
+     * @return the body closest to pos within radius, or null
+     */
+    public Body closest(Vector2 pos, float radius) {
+        closest = null;
+        closestDst2 = Float.MAX_VALUE;
+        run(MODE_CLOSEST, true, pos.x, pos.y, radius, radius * radius);
+        Body result = closest;
+        closest = null;
+        return result;
+    }
+
+    /**
+     * Closest body in a box of size x size around pos, measured to the body origin, without a distance limit inside
+     * the box (the semantics of {@link Box2dWorld#bodyAt})
+     */
+    public Body closestInBox(Vector2 pos, float size) {
+        closest = null;
+        closestDst2 = Float.MAX_VALUE;
+        run(MODE_CLOSEST, false, pos.x, pos.y, size * 0.5f, Float.MAX_VALUE);
+        Body result = closest;
+        closest = null;
+        return result;
+    }
+
+    /**
+     * Find all bodies within radius of pos, in no particular order
+     * @param out cleared, then receives the results
+     * @return number of results
+     */
+    public int within(Vector2 pos, float radius, Array<Body> out) {
+        out.clear();
+        results = out;
+        run(MODE_COLLECT, true, pos.x, pos.y, radius, radius * radius);
+        results = null;
+        return out.size;
+    }
+
+    /**
+     * Find the n bodies closest to pos within radius
+     * @param out cleared, then receives the results ordered by distance
+     * @return number of results; 0 without querying if n is not positive
+     */
+    public int nearest(Vector2 pos, float radius, int n, Array<Body> out) {
+        out.clear();
+        if (n <= 0) {
+            return 0;
+        }
+        distances.clear();
+        results = out;
+        maxResults = n;
+        run(MODE_NEAREST, true, pos.x, pos.y, radius, radius * radius);
+        results = null;
+        return out.size;
+    }
+
+    private void run(int mode, boolean measureFixtures, float x, float y, float halfExtent, float maxDst2) {
+        this.mode = mode;
+        this.measureFixtures = measureFixtures;
+        this.centerX = x;
+        this.centerY = y;
+        this.maxDst2 = maxDst2;
+        world.QueryAABB(this, x - halfExtent, y - halfExtent, x + halfExtent, y + halfExtent);
+        visited.clear();
+    }
+
+    @Override
+    public boolean reportFixture(Fixture fixture) {
+        Body body = fixture.getBody();
+        if (body == exclude || visited.contains(body) || !accept(fixture, body)) {
+            return true;
+        }
+        float dst2 = measureFixtures ? fixtureDst2(fixture, body) : originDst2(body);
+        if (dst2 > maxDst2) {
+            return true;
+        }
+        switch (mode) {
+            case MODE_CLOSEST:
+                if (dst2 < closestDst2) {
+                    closest = body;
+                    closestDst2 = dst2;
+                }
+                break;
+            case MODE_COLLECT:
+                // another fixture of the body cannot change the result
+                visited.add(body);
+                results.add(body);
+                break;
+            case MODE_NEAREST:
+                insertNearest(body, dst2);
+                break;
+        }
+        return true;
+    }
+
+    private float originDst2(Body body) {
+        Vector2 pos = body.getPosition();
+        float dx = pos.x - centerX, dy = pos.y - centerY;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Squared distance from the center to the world bounding box of the fixture's shape; 0 if inside
+     */
+    private float fixtureDst2(Fixture fixture, Body body) {
+        Transform transform = body.getTransform();
+        Shape shape = fixture.getShape();
+        minX = minY = Float.MAX_VALUE;
+        maxX = maxY = -Float.MAX_VALUE;
+        switch (fixture.getType()) {
+            case Circle:
+                CircleShape circle = (CircleShape) shape;
+                float radius = circle.getRadius();
+                transform.mul(vertex.set(circle.getPosition()));
+                minX = vertex.x - radius;
+                minY = vertex.y - radius;
+                maxX = vertex.x + radius;
+                maxY = vertex.y + radius;
+                break;
+            case Polygon:
+                PolygonShape polygon = (PolygonShape) shape;
+                for (int i = 0; i < polygon.getVertexCount(); i++) {
+                    polygon.getVertex(i, vertex);
+                    include(transform.mul(vertex));
+                }
+                break;
+            case Edge:
+                EdgeShape edge = (EdgeShape) shape;
+                edge.getVertex1(vertex);
+                include(transform.mul(vertex));
+                edge.getVertex2(vertex);
+                include(transform.mul(vertex));
+                break;
+            case Chain:
+                ChainShape chain = (ChainShape) shape;
+                for (int i = 0; i < chain.getVertexCount(); i++) {
+                    chain.getVertex(i, vertex);
+                    include(transform.mul(vertex));
+                }
+                break;
+        }
+        if (minX > maxX) {
+            return originDst2(body);
+        }
+        float dx = Math.max(0, Math.max(minX - centerX, centerX - maxX));
+        float dy = Math.max(0, Math.max(minY - centerY, centerY - maxY));
+        return dx * dx + dy * dy;
+    }
+
+    private void include(Vector2 v) {
+        minX = Math.min(minX, v.x);
+        minY = Math.min(minY, v.y);
+        maxX = Math.max(maxX, v.x);
+        maxY = Math.max(maxY, v.y);
+    }
+
+    private boolean accept(Fixture fixture, Body body) {
+        if (!includeSensors && fixture.isSensor()) {
+            return false;
+        }
+        Filter filter = fixture.getFilterData();
+        if (filter.maskBits == 0 || (filter.categoryBits & categoryMask) == 0) {
+            return false;
+        }
+        return bodyType == null || body.getType() == bodyType;
+    }
+
+    private void insertNearest(Body body, float dst2) {
+        int existing = results.indexOf(body, true);
+        if (existing >= 0) {
+            // reported again for another fixture of the body
+            if (dst2 >= distances.get(existing)) {
+                return;
+            }
+            results.removeIndex(existing);
+            distances.removeIndex(existing);
+        } else if (results.size >= maxResults && dst2 >= distances.peek()) {
+            return;
+        }
+        int index = results.size;
+        while (index > 0 && distances.get(index - 1) > dst2) {
+            index--;
+        }
+        results.insert(index, body);
+        distances.insert(index, dst2);
+        if (results.size > maxResults) {
+            results.pop();
+            distances.pop();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Transforms and velocities of all bodies at the end of a batch of physics steps. Written by the physics thread,
+ * read-only for everybody else once published by {@link Box2dWorld}.
+ */
+public class BodySnapshot {
+    private static final int STRIDE = 6;
+
+    private final Array<Body> bodies = new Array<>(false, 16, Body.class);
+    private final ObjectIntMap<Body> indices = new ObjectIntMap<>();
+    private float[] data = new float[16 * STRIDE];
+
+    void capture(World world) {
+        world.getBodies(bodies);
+        indices.clear();
+        if (data.length < bodies.size * STRIDE) {
+            data = new float[bodies.size * STRIDE * 2];
+        }
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            Vector2 pos = body.getPosition();
+            Vector2 vel = body.getLinearVelocity();
+            int offset = i * STRIDE;
+            data[offset] = pos.x;
+            data[offset + 1] = pos.y;
+            data[offset + 2] = body.getAngle();
+            data[offset + 3] = vel.x;
+            data[offset + 4] = vel.y;
+            data[offset + 5] = body.getAngularVelocity();
+            indices.put(body, i);
+        }
+    }
+
+    public int size() {
+        return bodies.size;
+    }
+
+    /**
+     * @return index of the body in this snapshot, or -1 if it did not exist when the snapshot was taken
+     */
+    public int indexOf(Body body) {
+        return indices.get(body, -1);
+    }
+
+    public Body getBody(int index) {
+        return bodies.get(index);
+    }
+
+    public Vector2 getPosition(int index, Vector2 out) {
+        return out.set(data[index * STRIDE], data[index * STRIDE + 1]);
+    }
+
+    public float getAngle(int index) {
+        return data[index * STRIDE + 2];
+    }
+
+    public Vector2 getLinearVelocity(int index, Vector2 out) {
+        return out.set(data[index * STRIDE + 3], data[index * STRIDE + 4]);
+    }
+
+    public float getAngularVelocity(int index) {
+        return data[index * STRIDE + 5];
+    }
+}
@@ -10,21 +10,66 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.Sort;
 
+import com.badlogic.ashley.core.PooledEngine;
+
+import box2dLight.Light;
 import box2dLight.RayHandler;
+import de.doccrazy.shared.core.FrameProfiler;
+import de.doccrazy.shared.core.FrameProfiler.Phase;
+import de.doccrazy.shared.game.actor.Box2dActor;
+import de.doccrazy.shared.game.actor.Tasker;
+import de.doccrazy.shared.game.actor.TickMode;
 import de.doccrazy.shared.game.actor.WorldActor;
 import de.doccrazy.shared.game.base.ActorContactListener;
 import de.doccrazy.shared.game.base.ActorListener;
+import de.doccrazy.shared.game.base.TickGroups;
+import de.doccrazy.shared.game.ecs.BodySyncSystem;
+import de.doccrazy.shared.game.ecs.EcsTypes;
+import de.doccrazy.shared.game.ecs.EntityCleanup;
+import de.doccrazy.shared.game.ecs.EntityRenderSystem;
+import de.doccrazy.shared.game.ecs.LightSyncSystem;
+import de.doccrazy.shared.game.ecs.SpriterSystem;
 import de.doccrazy.shared.game.event.EventSource;
 
 public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
-    private static final float PHYSICS_STEP = 1f/300f;
+    public static final float DEFAULT_PHYSICS_STEP = 1f/300f;
+    private static final int MIN_VELOCITY_ITERATIONS = 2, MIN_POSITION_ITERATIONS = 1;
+    private static final int ADAPTIVE_RECOVER_FRAMES = 30;
+    private static final Comparator<Actor> Z_ORDER = (a, b) -> Integer.compare(zOrderOf(a), zOrderOf(b));
 
     public final World box2dWorld; // box2d world
-    public final RayHandler rayHandler;
+    public final RayHandler rayHandler; // null for headless worlds
     public final Stage stage; // stage containing game actors (not GUI, but actual game elements)
+    private final boolean headless;
 
+    private float physicsStep = DEFAULT_PHYSICS_STEP;
     private float deltaCache;
+    private boolean interpolate, stepping;
+    private boolean decoupledTicking, frameTick;
+    private PhysicsThread physicsThread;
+    private boolean zOrderDirty;
+    private final BodyQuery query;
+    private final ActivityRegions activityRegions = new ActivityRegions();
+    private final DestroyQueue destroyQueue = new DestroyQueue();
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final Tasker tasker = new Tasker(), frameTasker = new Tasker();
+    private final TickGroups tickGroups = new TickGroups(), frameTickGroups = new TickGroups();
+    private final PooledEngine engine = EcsTypes.newEngine();
+    private final SnapshotArray<WorldActor<T>> substepActors = new SnapshotArray<>(false, 16, WorldActor.class);
+    private final Array<Body> bodyCache = new Array<>();
+    private final Sort sort = new Sort();
+    private int maxSubsteps;
+    private OverrunPolicy overrunPolicy = OverrunPolicy.DROP_TIME;
+    private int velocityIterations = 6, positionIterations = 3;
+    private int currentVelocityIterations = velocityIterations, currentPositionIterations = positionIterations;
+    private boolean adaptiveIterations;
+    private int framesWithinBudget;
+    private float droppedTime;
+    private int clampedFrames;
     private ActorListener<T> actorListener;
 
     private int score;
@@ -33,16 +78,41 @@ public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
     private float stateTime, lastStateTime;
 
     public Box2dWorld(Vector2 gravity) {
+        this(gravity, false);
+    }
+
+    /**
+     * @param headless true to create the world without any rendering resources, e.g. for servers, tests or batch
+     *                 tools: the stage uses a no-op batch and viewport, and there is no {@link #rayHandler}.
+     *                 Does not need a GL context, but Gdx.graphics must be set (e.g. by a HeadlessApplication).
+     */
+    public Box2dWorld(Vector2 gravity, boolean headless) {
+        this.headless = headless;
         box2dWorld = new World(gravity, true);
+        query = new BodyQuery(box2dWorld);
         box2dWorld.setContactListener(new ActorContactListener());
-        stage = new Stage(); // create the game stage
-        rayHandler = new RayHandler(box2dWorld);
+        if (headless) {
+            stage = new Stage(new HeadlessViewport(), new HeadlessBatch());
+            rayHandler = null;
+        } else {
+            stage = new Stage(); // create the game stage
+            rayHandler = new RayHandler(box2dWorld);
+        }
+        engine.addSystem(new BodySyncSystem());
+        engine.addSystem(new LightSyncSystem());
+        engine.addSystem(new SpriterSystem());
+        engine.addSystem(new EntityRenderSystem());
+        engine.addEntityListener(new EntityCleanup(this));
     }
 
     public final void transition(GameState newState) {
     	if (gameState == newState) {
     		return;
     	}
+        if (physicsThread != null) {
+            physicsThread.await();
+            physicsThread.publish();
+        }
         if (newState == GameState.INIT) {
             List<Actor> actors = Arrays.asList(stage.getActors().toArray());
             for (Actor actor : actors) {
@@ -51,6 +121,8 @@ public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
             	}
                 actor.remove();
             }
+            engine.removeAllEntities();
+            destroyQueue.flush(box2dWorld);
         }
         if (newState != GameState.VICTORY && newState != GameState.DEFEAT) {
             score = 0;
@@ -73,47 +145,556 @@ public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
         if (gameState == null) {
             transition(GameState.INIT);
         }
-
+        drainAsyncEvents();
+
+        boolean clamped = false;
+        if (maxSubsteps > 0 && overrunPolicy == OverrunPolicy.SLOW_MOTION) {
+            float maxDelta = Math.max(0, maxSubsteps * physicsStep - deltaCache);
+            if (delta > maxDelta) {
+                droppedTime += delta - maxDelta;
+                delta = maxDelta;
+                clamped = true;
+            }
+        }
         deltaCache += delta;
 
-        while (deltaCache >= PHYSICS_STEP) {
-            stage.act(PHYSICS_STEP); // update game stage
-            box2dWorld.step(PHYSICS_STEP, 6, 3); // update box2d world
-            deltaCache -= PHYSICS_STEP;
+        if (physicsThread != null) {
+            updateThreaded(delta, clamped);
+            return;
+        }
+
+        stepping = true;
+        int steps = 0;
+        while (deltaCache >= physicsStep) {
+            if (maxSubsteps > 0 && steps >= maxSubsteps) {
+                dropExcessTime();
+                clamped = true;
+                break;
+            }
+            tasker.update(physicsStep);
+            tickGroups.update(physicsStep);
+            if (!decoupledTicking) {
+                frameTasker.update(physicsStep);
+                frameTickGroups.update(physicsStep);
+            }
+            if (decoupledTicking) {
+                actSubstepActors(physicsStep);
+            } else {
+                actStage(physicsStep); // update game stage
+            }
+            if (interpolate) {
+                storePreviousTransforms();
+            }
+            if (!destroyQueue.isEmpty()) {
+                flushDestroyQueue(); // do not simulate bodies of removed actors any longer
+            }
+            profiler.begin(Phase.PHYSICS_STEP);
+            box2dWorld.step(physicsStep, currentVelocityIterations, currentPositionIterations); // update box2d world
+            profiler.end(Phase.PHYSICS_STEP);
+            deltaCache -= physicsStep;
+            steps++;
+        }
+        stepping = false;
+        if (clamped) {
+            clampedFrames++;
+        }
+        if (adaptiveIterations) {
+            adaptIterations(clamped);
+        }
+        activityRegions.update(this, delta);
+        updateEngine(delta);
+        if (decoupledTicking) {
+            frameTasker.update(delta);
+            frameTickGroups.update(delta);
+            frameTick = true;
+            actStage(delta); // per-frame actors only
+            frameTick = false;
+        }
+        if (interpolate) {
+            applyInterpolation();
         }
 
         stateTime += delta;
 
+        dispatchEvents();
+
+        profiler.begin(Phase.DO_UPDATE);
         doUpdate(delta);
+        profiler.end(Phase.DO_UPDATE);
+
+        flushDestroyQueue();
+        if (zOrderDirty) {
+            refreshZOrder();
+        }
+    }
+
+    /**
+     * Threaded mode: collect the last frame's physics results, tick all actors once, then start this frame's
+     * physics steps in the background
+     */
+    private void updateThreaded(float delta, boolean clamped) {
+        awaitPhysics();
+        physicsThread.publish();
+        activityRegions.update(this, delta);
+        updateEngine(delta);
+
+        tasker.update(delta);
+        tickGroups.update(delta);
+        frameTasker.update(delta);
+        frameTickGroups.update(delta);
+        actStage(delta);
+
+        int steps = 0;
+        while (deltaCache >= physicsStep) {
+            if (maxSubsteps > 0 && steps >= maxSubsteps) {
+                dropExcessTime();
+                clamped = true;
+                break;
+            }
+            deltaCache -= physicsStep;
+            steps++;
+        }
+        if (clamped) {
+            clampedFrames++;
+        }
+        if (adaptiveIterations) {
+            adaptIterations(clamped);
+        }
+
+        stateTime += delta;
+
+        dispatchEvents();
+
+        profiler.begin(Phase.DO_UPDATE);
+        doUpdate(delta);
+        profiler.end(Phase.DO_UPDATE);
+
+        flushDestroyQueue();
+        if (zOrderDirty) {
+            refreshZOrder();
+        }
+
+        physicsThread.start(steps, physicsStep, currentVelocityIterations, currentPositionIterations);
     }
 
     protected abstract void doUpdate(float delta);
 
+    /**
+     * DROP_TIME: discard all full steps left in the accumulator, keeping only the fraction of a step for interpolation
+     */
+    private void dropExcessTime() {
+        float remainder = deltaCache % physicsStep;
+        droppedTime += deltaCache - remainder;
+        deltaCache = remainder;
+    }
+
+    private void adaptIterations(boolean overBudget) {
+        if (overBudget) {
+            framesWithinBudget = 0;
+            currentVelocityIterations = Math.max(Math.min(MIN_VELOCITY_ITERATIONS, velocityIterations), currentVelocityIterations - 1);
+            currentPositionIterations = Math.max(Math.min(MIN_POSITION_ITERATIONS, positionIterations), currentPositionIterations - 1);
+        } else if (++framesWithinBudget >= ADAPTIVE_RECOVER_FRAMES) {
+            framesWithinBudget = 0;
+            currentVelocityIterations = Math.min(velocityIterations, currentVelocityIterations + 1);
+            currentPositionIterations = Math.min(positionIterations, currentPositionIterations + 1);
+        }
+    }
+
+    private void updateEngine(float delta) {
+        profiler.begin(Phase.ENTITIES);
+        engine.update(delta);
+        profiler.end(Phase.ENTITIES);
+    }
+
+    private void actStage(float delta) {
+        profiler.begin(Phase.WORLD_ACT);
+        if (headless) {
+            //skip input handling, which requires a running application
+            stage.getRoot().act(delta);
+        } else {
+            stage.act(delta);
+        }
+        profiler.end(Phase.WORLD_ACT);
+    }
+
+    private void actSubstepActors(float delta) {
+        profiler.begin(Phase.WORLD_ACT);
+        WorldActor<T>[] actors = substepActors.begin();
+        for (int i = 0, n = substepActors.size; i < n; i++) {
+            actors[i].act(delta);
+        }
+        substepActors.end();
+        profiler.end(Phase.WORLD_ACT);
+    }
+
+    private void storePreviousTransforms() {
+        box2dWorld.getBodies(bodyCache);
+        for (Body body : bodyCache) {
+            if (body.getUserData() instanceof Box2dActor) {
+                ((Box2dActor<?>) body.getUserData()).storePreviousTransform();
+            }
+        }
+    }
+
+    private void applyInterpolation() {
+        box2dWorld.getBodies(bodyCache);
+        for (Body body : bodyCache) {
+            if (body.getUserData() instanceof Box2dActor) {
+                ((Box2dActor<?>) body.getUserData()).applyInterpolation();
+            }
+        }
+        bodyCache.clear();
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Release native physics memory and rendering resources; the world cannot be used afterwards
+     */
+    public void dispose() {
+        if (physicsThread != null) {
+            physicsThread.dispose();
+        }
+        destroyQueue.clear();
+        stage.dispose();
+        if (rayHandler != null) {
+            rayHandler.dispose();
+        }
+        box2dWorld.dispose();
+    }
+
+    /**
+     * Length of a single fixed physics step in seconds (default 1/300s)
+     */
+    public float getPhysicsStep() {
+        return physicsStep;
+    }
+
+    public void setPhysicsStep(float physicsStep) {
+        if (physicsStep <= 0) {
+            throw new IllegalArgumentException("Physics step must be positive");
+        }
+        this.physicsStep = physicsStep;
+    }
+
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+
+    /**
+     * Limit the number of physics steps per frame to avoid a spiral of death after hitches
+     * @param maxSubsteps maximum steps per {@link #update(float)}; 0 means unlimited (default)
+     */
+    public void setMaxSubsteps(int maxSubsteps) {
+        this.maxSubsteps = maxSubsteps;
+    }
+
+    public OverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    public void setOverrunPolicy(OverrunPolicy overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    /**
+     * Box2D solver iterations per step (default 6, 3)
+     */
+    public void setSolverIterations(int velocityIterations, int positionIterations) {
+        this.velocityIterations = velocityIterations;
+        this.positionIterations = positionIterations;
+        currentVelocityIterations = velocityIterations;
+        currentPositionIterations = positionIterations;
+    }
+
+    public boolean isAdaptiveIterations() {
+        return adaptiveIterations;
+    }
+
+    /**
+     * If enabled, solver iterations are lowered step by step while frames hit the substep limit and restored
+     * once the frame budget is met again. Requires {@link #setMaxSubsteps(int)}.
+     */
+    public void setAdaptiveIterations(boolean adaptiveIterations) {
+        this.adaptiveIterations = adaptiveIterations;
+        if (!adaptiveIterations) {
+            currentVelocityIterations = velocityIterations;
+            currentPositionIterations = positionIterations;
+        }
+    }
+
+    public int getCurrentVelocityIterations() {
+        return currentVelocityIterations;
+    }
+
+    public int getCurrentPositionIterations() {
+        return currentPositionIterations;
+    }
+
+    /**
+     * @return total simulation time in seconds that was dropped or slowed down because of the substep limit
+     */
+    public float getDroppedTime() {
+        return droppedTime;
+    }
+
+    /**
+     * @return number of frames that hit the substep limit
+     */
+    public int getClampedFrames() {
+        return clampedFrames;
+    }
+
+    public void resetStepStats() {
+        droppedTime = 0;
+        clampedFrames = 0;
+        destroyQueue.resetStats();
+    }
+
+    public boolean isInterpolate() {
+        return interpolate;
+    }
+
+    /**
+     * If enabled, actors are drawn blended between the last two physics states according to the time left over in
+     * the step accumulator. This allows a much coarser physics step without visible stutter.
+     */
+    public void setInterpolate(boolean interpolate) {
+        this.interpolate = interpolate;
+    }
+
+    /**
+     * @return the fraction of a physics step left over after the last {@link #update(float)}, in [0, 1); always 1 while
+     * stepping or if interpolation is disabled, meaning "use the current body state"
+     */
+    public float getInterpolationAlpha() {
+        if (!interpolate || stepping || physicsThread != null) {
+            return 1f;
+        }
+        return deltaCache / physicsStep;
+    }
+
     public void setActorListener(ActorListener<T> actorListener) {
         this.actorListener = actorListener;
     }
 
+    public boolean isDecoupledTicking() {
+        return decoupledTicking;
+    }
+
+    /**
+     * If enabled, only actors with {@link TickMode#SUBSTEP} are ticked every physics step, all other stage actors
+     * (including non-world actors) are ticked once per frame with the full frame delta.
+     * Substep actors must be added via {@link #addActor(WorldActor)}.
+     */
+    public void setDecoupledTicking(boolean decoupledTicking) {
+        this.decoupledTicking = decoupledTicking;
+    }
+
+    /**
+     * @return true while the world is ticking per-frame actors in decoupled mode; substep actors skip this tick
+     */
+    public boolean isFrameTick() {
+        return frameTick;
+    }
+
+    public boolean isPhysicsThreaded() {
+        return physicsThread != null;
+    }
+
+    /**
+     * If enabled, Box2D steps run on a separate thread in parallel to rendering. Each {@link #update(float)} waits
+     * for the previous steps, replays their contact callbacks, ticks all actors once per frame and starts the next
+     * steps. While physics is running, bodies must not be accessed: actors draw from the {@link #getBodySnapshot()
+     * body snapshot}, and everything else has to call {@link #awaitPhysics()} first.
+     * Return values of {@link de.doccrazy.shared.game.base.CollisionListener#beginContact} cannot disable contacts in
+     * this mode, and interpolation is not applied.
+     */
+    public void setPhysicsThreaded(boolean threaded) {
+        if (threaded == (physicsThread != null)) {
+            return;
+        }
+        if (threaded) {
+            physicsThread = new PhysicsThread(box2dWorld);
+        } else {
+            physicsThread.await();
+            physicsThread.publish();
+            physicsThread.dispose();
+            physicsThread = null;
+            box2dWorld.setContactListener(new ActorContactListener());
+        }
+    }
+
+    /**
+     * Wait for background physics steps to finish, so the box2d world can be accessed safely. No-op if physics is not
+     * threaded.
+     */
+    public void awaitPhysics() {
+        if (physicsThread != null) {
+            profiler.begin(Phase.PHYSICS_WAIT);
+            physicsThread.await();
+            profiler.end(Phase.PHYSICS_WAIT);
+        }
+    }
+
+    /**
+     * @return true if physics steps are currently running in the background
+     */
+    public boolean isPhysicsRunning() {
+        return physicsThread != null && physicsThread.isRunning();
+    }
+
+    /**
+     * @return body transforms and velocities as of the last completed physics steps; null if physics is not threaded
+     */
+    public BodySnapshot getBodySnapshot() {
+        return physicsThread != null ? physicsThread.getSnapshot() : null;
+    }
+
+    /**
+     * Capture the current state of all bodies and actors, e.g. right after a level has been built
+     */
+    public WorldSnapshot snapshot() {
+        return snapshot(new WorldSnapshot());
+    }
+
+    /**
+     * Capture into an existing snapshot object, reusing its buffers
+     */
+    public WorldSnapshot snapshot(WorldSnapshot snapshot) {
+        awaitPhysics();
+        snapshot.capture(this);
+        return snapshot;
+    }
+
+    /**
+     * Reset bodies and actors to a previously captured state without rebuilding the level; much cheaper than
+     * {@link #reset()}. Pending events are discarded, the game state is not changed.
+     */
+    public void restore(WorldSnapshot snapshot) {
+        if (physicsThread != null) {
+            physicsThread.await();
+            physicsThread.publish();
+        }
+        snapshot.restoreActors(this);
+        destroyQueue.flush(box2dWorld);
+        snapshot.restoreBodies(this);
+        clearEvents();
+        if (physicsThread != null) {
+            physicsThread.recapture();
+        }
+        deltaCache = 0;
+        score = snapshot.getScore();
+        stateTime = snapshot.getStateTime();
+    }
+
+    /**
+     * Destroy the body once no physics step is running; safe to call from contact callbacks. The body must not be
+     * destroyed directly as well.
+     */
+    public void destroyLater(Body body) {
+        destroyQueue.add(body);
+    }
+
+    int getBodyIncarnation(Body body) {
+        return destroyQueue.getIncarnation(body);
+    }
+
+    /**
+     * Destroy the joint once no physics step is running; ignored if it is destroyed together with a body before
+     */
+    public void destroyLater(Joint joint) {
+        destroyQueue.add(joint);
+    }
+
+    /**
+     * Remove the light together with the next batch of destroyed bodies
+     */
+    public void destroyLater(Light light) {
+        destroyQueue.add(light);
+    }
+
+    /**
+     * Destroy all queued bodies, joints and lights now (joints first); happens automatically before each physics step
+     * if needed and at the end of each update. Must not be called during a step or while threaded physics is running.
+     * @return number of destroyed objects
+     */
+    public int flushDestroyQueue() {
+        profiler.begin(Phase.DESTROY);
+        int count = destroyQueue.flush(box2dWorld);
+        profiler.end(Phase.DESTROY);
+        return count;
+    }
+
+    /**
+     * @return number of objects destroyed by the destroy queue since the last {@link #resetStepStats()}
+     */
+    public int getDestroyedCount() {
+        return destroyQueue.getDestroyed();
+    }
+
+    /**
+     * @return time spent flushing the destroy queue since the last {@link #resetStepStats()}, in nanoseconds
+     */
+    public long getDestroyNanos() {
+        return destroyQueue.getNanos();
+    }
+
     public void addActor(WorldActor<T> actor) {
-        stage.addActor(actor);
-        refreshZOrder();
+        if (actor.getTickMode() == TickMode.SUBSTEP) {
+            substepActors.add(actor);
+        }
+        insertByZOrder(actor);
         if (actorListener != null) {
             actorListener.actorAdded(actor);
         }
     }
 
-    public void refreshZOrder() {
-        stage.getActors().sort(new Comparator<Actor>() {
-            @Override
-            public int compare(Actor o1, Actor o2) {
-                if (!(o1 instanceof WorldActor) || !(o2 instanceof WorldActor)) {
-                    return 0;
-                }
-                return ((WorldActor<?>)o1).getzOrder() - ((WorldActor<?>)o2).getzOrder();
+    /**
+     * Insert at the end of the actor's z layer (binary search), so spawning does not need to sort the stage
+     */
+    private void insertByZOrder(WorldActor<T> actor) {
+        SnapshotArray<Actor> children = stage.getRoot().getChildren();
+        int z = actor.getzOrder();
+        int low = 0, high = children.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (zOrderOf(children.get(mid)) <= z) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
-        });
+        }
+        stage.getRoot().addActorAt(low, actor);
+    }
+
+    private static int zOrderOf(Actor actor) {
+        return actor instanceof WorldActor ? ((WorldActor<?>) actor).getzOrder() : 0;
+    }
+
+    /**
+     * Mark the stage order as outdated, e.g. after an actor changed its z order; resolved once per frame
+     */
+    public void invalidateZOrder() {
+        zOrderDirty = true;
+    }
+
+    /**
+     * Sort the stage by z order immediately (stable, so actors keep their order within a layer)
+     */
+    public void refreshZOrder() {
+        SnapshotArray<Actor> actors = stage.getRoot().getChildren();
+        if (actors.size > 1) {
+            actors.swap(0, 0);  // no-op, but makes the stage copy its children if they are being iterated
+            sort.sort(actors.items, Z_ORDER, 0, actors.size);
+        }
+        zOrderDirty = false;
     }
 
     public void onActorRemoved(WorldActor<T> actor) {
+        substepActors.removeValue(actor, true);
         if (actorListener != null) {
             actorListener.actorRemoved(actor);
         }
@@ -147,22 +728,80 @@ public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
         return gameState == GameState.VICTORY || gameState == GameState.DEFEAT;
     }
 
+    /**
+     * @return profiler for world and renderer phases, disabled by default
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return scheduler shared by all {@link TickMode#SUBSTEP} actors (each uses an owned view, see
+     * {@link WorldActor#task}); advanced with the physics substeps, or once per frame in threaded mode. Tasks
+     * scheduled here directly belong to no actor. Per-frame actors use {@link #getTasker(TickMode)}.
+     */
+    public Tasker getTasker() {
+        return tasker;
+    }
+
+    /**
+     * @return shared accumulators of grouped {@link de.doccrazy.shared.game.base.RegularAction}s; advanced like
+     * the {@link #getTasker() tasker}
+     */
+    public TickGroups getTickGroups() {
+        return tickGroups;
+    }
+
+    /**
+     * @return the scheduler for actors of the tick mode: {@link TickMode#FRAME} tasks are advanced once per frame
+     * with {@link #setDecoupledTicking decoupled ticking}, and like the {@link #getTasker() tasker} otherwise
+     */
+    public Tasker getTasker(TickMode mode) {
+        return mode == TickMode.FRAME ? frameTasker : tasker;
+    }
+
+    /**
+     * @return tick groups for actors of the tick mode, advanced like {@link #getTasker(TickMode)}
+     */
+    public TickGroups getTickGroups(TickMode mode) {
+        return mode == TickMode.FRAME ? frameTickGroups : tickGroups;
+    }
+
+    /**
+     * @return entity engine for lightweight objects (bullets, debris...), updated once per frame after the physics
+     * steps; draw its entities by adding an {@link de.doccrazy.shared.game.ecs.EntityLayerActor}. Entities are
+     * removed on {@link GameState#INIT} and not covered by snapshots.
+     */
+    public PooledEngine getEngine() {
+        return engine;
+    }
+
+    public ActivityRegions getActivityRegions() {
+        return activityRegions;
+    }
+
+    /**
+     * @return the shared query object with filters reset; see {@link BodyQuery} for reentrancy
+     */
+    public BodyQuery query() {
+        return query.reset();
+    }
+
     public Body bodyAt(Vector2 pos, float radius) {
         return bodyAt(pos, radius, null);
     }
 
     public Body bodyAt(Vector2 pos, float radius, Body exclude) {
-        ClosestBodyQueryCallback cb = new ClosestBodyQueryCallback(pos, exclude, false);
-        box2dWorld.QueryAABB(cb, pos.x - radius*0.5f, pos.y - radius*0.5f, pos.x + radius*0.5f, pos.y + radius*0.5f);
-        return cb.body;
+        return query().exclude(exclude).closestInBox(pos, radius);
     }
 
     public Body staticBodyAt(Vector2 pos, float radius) {
-        ClosestBodyQueryCallback cb = new ClosestBodyQueryCallback(pos, null, true);
-        box2dWorld.QueryAABB(cb, pos.x - radius*0.5f, pos.y - radius*0.5f, pos.x + radius*0.5f, pos.y + radius*0.5f);
-        return cb.body;
+        return query().type(BodyDef.BodyType.StaticBody).closestInBox(pos, radius);
     }
 
+    /**
+     * @see BodyQuery#within(Vector2, float, Array) for an allocation-free variant
+     */
     public Set<Body> allBodiesAt(Vector2 pos, float radius) {
         final Set<Body> result = new HashSet<>();
         box2dWorld.QueryAABB(new QueryCallback() {
@@ -175,28 +814,3 @@ public abstract class Box2dWorld<T extends Box2dWorld<T>> extends EventSource {
         return result;
     }
 }
-
-class ClosestBodyQueryCallback implements QueryCallback {
-    Body body;
-    private final Vector2 pos;
-    private final Body exclude;
-    private final boolean onlyStatic;
-
-    public ClosestBodyQueryCallback(Vector2 pos, Body exclude, boolean onlyStatic) {
-        this.pos = pos;
-        this.exclude = exclude;
-        this.onlyStatic = onlyStatic;
-    }
-
-    @Override
-    public boolean reportFixture(Fixture fixture) {
-        if (!fixture.getBody().equals(exclude) && !(fixture.getFilterData().maskBits == 0) &&
-                !(onlyStatic && fixture.getBody().getType() != BodyDef.BodyType.StaticBody) &&
-                !fixture.isSensor() &&
-                (body == null || fixture.getBody().getPosition().dst(pos) < body.getPosition().dst(pos))) {
-            body = fixture.getBody();
-        }
-
-        return true;
-    }
-}
@@ -0,0 +1,174 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.WorldManifold;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import de.doccrazy.shared.game.base.ActorContactListener;
+import de.doccrazy.shared.game.base.CollisionListener;
+
+/**
+ * Records contact callbacks on the physics thread, so they can be replayed on the main thread
+ * with the same semantics as {@link ActorContactListener}. The listeners are taken from the bodies' user data when
+ * recording: a body destroyed before the replay has its Body object recycled, so it must not be asked again.
+ * <p>
+ * Callbacks outside of a step come from destroying bodies on the main thread. They are dispatched immediately, while
+ * the destroyed body is still valid, instead of being replayed later with a recycled Body.
+ */
+class ContactEventQueue implements ContactListener {
+    private static final int BEGIN = 0, END = 1, HIT = 2;
+
+    private final Array<ContactEvent> events = new Array<>(false, 16, ContactEvent.class);
+    private final Pool<ContactEvent> pool = new Pool<ContactEvent>() {
+        @Override
+        protected ContactEvent newObject() {
+            return new ContactEvent();
+        }
+    };
+    private final Vector2 normal = new Vector2(), contactPoint = new Vector2();
+    private boolean stepping;
+
+    /**
+     * Mark the start or end of the world steps on the physics thread; callbacks in between are recorded
+     */
+    void setStepping(boolean stepping) {
+        this.stepping = stepping;
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+        if (!contact.isTouching()) {
+            return;
+        }
+        ContactEvent event = record(BEGIN, contact);
+        if (event == null) {
+            return;
+        }
+        WorldManifold manifold = contact.getWorldManifold();
+        event.normalX = manifold.getNormal().x;
+        event.normalY = manifold.getNormal().y;
+        event.hasContactPoint = manifold.getNumberOfContactPoints() > 0;
+        event.contactX = manifold.getPoints()[0].x;
+        event.contactY = manifold.getPoints()[0].y;
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+        if (contact.getFixtureA() == null || contact.getFixtureB() == null) {
+            return;
+        }
+        if (!stepping) {
+            dispatchEndContact(contact.getFixtureA().getBody(), contact.getFixtureB().getBody());
+            return;
+        }
+        record(END, contact);
+    }
+
+    @Override
+    public void preSolve(Contact contact, Manifold oldManifold) {
+    }
+
+    @Override
+    public void postSolve(Contact contact, ContactImpulse impulse) {
+        ContactEvent event = record(HIT, contact);
+        if (event != null) {
+            event.force = maxImpulse(impulse);
+        }
+    }
+
+    private static float maxImpulse(ContactImpulse impulse) {
+        float force = 0;
+        for (float f : impulse.getNormalImpulses()) {
+            force = Math.max(force, f);
+        }
+        return force;
+    }
+
+    private ContactEvent record(int type, Contact contact) {
+        Body a = contact.getFixtureA().getBody();
+        Body b = contact.getFixtureB().getBody();
+        if (!(a.getUserData() instanceof CollisionListener) && !(b.getUserData() instanceof CollisionListener)) {
+            return null;
+        }
+        ContactEvent event = pool.obtain();
+        event.type = type;
+        event.a = a;
+        event.b = b;
+        event.listenerA = a.getUserData() instanceof CollisionListener ? (CollisionListener) a.getUserData() : null;
+        event.listenerB = b.getUserData() instanceof CollisionListener ? (CollisionListener) b.getUserData() : null;
+        events.add(event);
+        return event;
+    }
+
+    private static void dispatchEndContact(Body a, Body b) {
+        if (a.getUserData() instanceof CollisionListener) {
+            ((CollisionListener) a.getUserData()).endContact(b);
+        }
+        if (b.getUserData() instanceof CollisionListener) {
+            ((CollisionListener) b.getUserData()).endContact(a);
+        }
+    }
+
+    /**
+     * Dispatch all recorded callbacks in order; must not be called while physics is running
+     */
+    void replay() {
+        for (int i = 0; i < events.size; i++) {
+            ContactEvent event = events.get(i);
+            CollisionListener listenerA = event.listenerA, listenerB = event.listenerB;
+            switch (event.type) {
+                case BEGIN:
+                    Vector2 point = event.hasContactPoint ? contactPoint.set(event.contactX, event.contactY) : null;
+                    if (listenerA != null) {
+                        listenerA.beginContact(event.a, event.b, normal.set(event.normalX, event.normalY), point);
+                    }
+                    if (listenerB != null) {
+                        listenerB.beginContact(event.b, event.a, normal.set(event.normalX, event.normalY), point);
+                    }
+                    break;
+                case END:
+                    if (listenerA != null) {
+                        listenerA.endContact(event.b);
+                    }
+                    if (listenerB != null) {
+                        listenerB.endContact(event.a);
+                    }
+                    break;
+                case HIT:
+                    if (listenerA != null) {
+                        listenerA.hit(event.force);
+                    }
+                    if (listenerB != null) {
+                        listenerB.hit(event.force);
+                    }
+                    break;
+            }
+        }
+        pool.freeAll(events);
+        events.clear();
+    }
+
+    private static class ContactEvent implements Pool.Poolable {
+        int type;
+        Body a, b;
+        CollisionListener listenerA, listenerB;
+        float normalX, normalY;
+        boolean hasContactPoint;
+        float contactX, contactY;
+        float force;
+
+        @Override
+        public void reset() {
+            a = null;
+            b = null;
+            listenerA = null;
+            listenerB = null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.Joint;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import box2dLight.Light;
+
+/**
+ * Bodies, joints and lights waiting to be destroyed outside of physics steps. Duplicate requests are ignored.
+ * <p>
+ * Box2d recycles the Body objects of destroyed bodies for new ones, so the queue counts how often each Body object
+ * was destroyed; together with the object this identifies one physical body, e.g. for {@link WorldSnapshot}.
+ */
+class DestroyQueue {
+    private final Array<Joint> joints = new Array<>(false, 16, Joint.class);
+    private final Array<Body> bodies = new Array<>(false, 16, Body.class);
+    private final Array<Light> lights = new Array<>(false, 16, Light.class);
+    private final ObjectSet<Object> queued = new ObjectSet<>();
+    private final Array<Joint> liveJoints = new Array<>(false, 16, Joint.class);
+    private final ObjectIntMap<Body> incarnations = new ObjectIntMap<>();
+    private int destroyed;
+    private long nanos;
+
+    void add(Body body) {
+        if (queued.add(body)) {
+            bodies.add(body);
+        }
+    }
+
+    void add(Joint joint) {
+        if (queued.add(joint)) {
+            joints.add(joint);
+        }
+    }
+
+    void add(Light light) {
+        if (queued.add(light)) {
+            lights.add(light);
+        }
+    }
+
+    boolean isEmpty() {
+        return queued.size == 0;
+    }
+
+    /**
+     * Joints go first, because destroying a body implicitly destroys its joints
+     * @return number of destroyed objects
+     */
+    int flush(World world) {
+        if (queued.size == 0) {
+            return 0;
+        }
+        long start = TimeUtils.nanoTime();
+        int count = 0;
+        if (joints.size > 0) {
+            // skip joints that went away with a body destroyed directly
+            world.getJoints(liveJoints);
+            for (int i = 0; i < joints.size; i++) {
+                Joint joint = joints.get(i);
+                if (liveJoints.contains(joint, true)) {
+                    world.destroyJoint(joint);
+                    count++;
+                }
+            }
+            liveJoints.clear();
+            joints.clear();
+        }
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            world.destroyBody(body);
+            incarnations.getAndIncrement(body, 0, 1);
+        }
+        count += bodies.size;
+        bodies.clear();
+        for (int i = 0; i < lights.size; i++) {
+            lights.get(i).remove();
+        }
+        count += lights.size;
+        lights.clear();
+        queued.clear();
+
+        destroyed += count;
+        nanos += TimeUtils.nanoTime() - start;
+        return count;
+    }
+
+    /**
+     * Forget pending requests without destroying, e.g. when the whole world is disposed
+     */
+    void clear() {
+        joints.clear();
+        bodies.clear();
+        lights.clear();
+        queued.clear();
+    }
+
+    /**
+     * @return number of times the Body object was destroyed through this queue; changes when it is reused
+     */
+    int getIncarnation(Body body) {
+        return incarnations.get(body, 0);
+    }
+
+    int getDestroyed() {
+        return destroyed;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    void resetStats() {
+        destroyed = 0;
+        nanos = 0;
+    }
+}
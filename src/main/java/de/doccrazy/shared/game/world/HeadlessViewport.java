@@ -0,0 +1,32 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Viewport that never touches GL, used by headless worlds
+ */
+class HeadlessViewport extends Viewport {
+    public HeadlessViewport() {
+        setCamera(new OrthographicCamera());
+    }
+
+    @Override
+    public void update(int screenWidth, int screenHeight, boolean centerCamera) {
+        setScreenBounds(0, 0, screenWidth, screenHeight);
+        setWorldSize(screenWidth, screenHeight);
+        apply(centerCamera);
+    }
+
+    @Override
+    public void apply(boolean centerCamera) {
+        Camera camera = getCamera();
+        camera.viewportWidth = getWorldWidth();
+        camera.viewportHeight = getWorldHeight();
+        if (centerCamera) {
+            camera.position.set(getWorldWidth() / 2, getWorldHeight() / 2, 0);
+        }
+        camera.update();
+    }
+}
@@ -0,0 +1,16 @@
+package de.doccrazy.shared.game.world;
+
+/**
+ * What to do when a frame would need more physics steps than allowed by {@link Box2dWorld#setMaxSubsteps(int)}
+ */
+public enum OverrunPolicy {
+    /**
+     * Simulate the allowed number of steps and discard the remaining time; game time keeps up with real time
+     */
+    DROP_TIME,
+    /**
+     * Shorten the frame delta passed to the whole world (actors, state time, doUpdate), so the game runs in slow
+     * motion until it catches up
+     */
+    SLOW_MOTION,
+}
@@ -0,0 +1,108 @@
+package de.doccrazy.shared.game.world;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Runs Box2D steps on a background thread; all methods must be called from the main thread.
+ * Contact callbacks are queued during the steps and replayed by {@link #publish()}.
+ */
+class PhysicsThread {
+    private final World world;
+    private final ExecutorService executor;
+    private final ContactEventQueue contacts = new ContactEventQueue();
+    private final Runnable stepTask = this::runSteps;
+    private BodySnapshot front = new BodySnapshot(), back = new BodySnapshot();
+    private Future<?> pending;
+    private boolean unpublished;
+
+    private int steps, velocityIterations, positionIterations;
+    private float timeStep;
+
+    PhysicsThread(World world) {
+        this.world = world;
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Box2dWorld physics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        world.setContactListener(contacts);
+    }
+
+    void start(int steps, float timeStep, int velocityIterations, int positionIterations) {
+        await();
+        this.steps = steps;
+        this.timeStep = timeStep;
+        this.velocityIterations = velocityIterations;
+        this.positionIterations = positionIterations;
+        pending = executor.submit(stepTask);
+    }
+
+    private void runSteps() {
+        contacts.setStepping(true);
+        try {
+            for (int i = 0; i < steps; i++) {
+                world.step(timeStep, velocityIterations, positionIterations);
+            }
+        } finally {
+            contacts.setStepping(false);
+        }
+        back.capture(world);
+    }
+
+    boolean isRunning() {
+        return pending != null;
+    }
+
+    void await() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Physics step failed", e.getCause());
+        } finally {
+            pending = null;
+            unpublished = true;
+        }
+    }
+
+    /**
+     * Replay queued contact callbacks and make the latest snapshot visible; physics must not be running
+     */
+    void publish() {
+        if (!unpublished) {
+            return;
+        }
+        unpublished = false;
+        contacts.replay();
+        BodySnapshot tmp = front;
+        front = back;
+        back = tmp;
+    }
+
+    /**
+     * Refresh the visible snapshot after bodies were changed from the main thread; physics must not be running
+     */
+    void recapture() {
+        front.capture(world);
+    }
+
+    BodySnapshot getSnapshot() {
+        return front;
+    }
+
+    void dispose() {
+        await();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,185 @@
+package de.doccrazy.shared.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+import de.doccrazy.shared.game.actor.Box2dActor;
+import de.doccrazy.shared.game.actor.WorldActor;
+
+/**
+ * State of all bodies and actors of a world at one point in time, for fast level restarts without rebuilding the
+ * level. Created by {@link Box2dWorld#snapshot()} and applied by {@link Box2dWorld#restore(WorldSnapshot)}.
+ * <p>
+ * Restoring removes actors added since the snapshot and adds removed ones again (their {@link WorldActor#init()}
+ * creates a new body, which then receives the saved transform). Joints and bodies that were destroyed without
+ * belonging to an actor are not recreated, and removed pooled actors are not brought back.
+ * <p>
+ * Box2d reuses the Body objects of destroyed bodies, so a body without an actor is only restored if its Body object
+ * still has the same user data and has not been destroyed through {@link Box2dWorld#destroyLater(Body)} since the
+ * capture. Bodies without an actor and without user data that are destroyed directly must not be in a snapshot.
+ */
+public class WorldSnapshot {
+    private static final int STRIDE = 8;
+
+    private final Array<Body> bodies = new Array<>(false, 16, Body.class);
+    private final Array<Box2dActor<?>> bodyOwners = new Array<>(false, 16, Box2dActor.class);
+    private final Array<Object> bodyUserData = new Array<>(false, 16);
+    private final IntArray bodyIncarnations = new IntArray(false, 16);
+    private float[] bodyData = new float[16 * STRIDE];
+
+    private final Array<Actor> actors = new Array<>(false, 16, Actor.class);
+    private final ObjectSet<Actor> actorSet = new ObjectSet<>();
+    private final Array<Object> actorStates = new Array<>();
+    private float[] actorData = new float[16 * 2];
+
+    private final ObjectSet<Body> liveBodies = new ObjectSet<>();
+    private final Array<Body> bodyCache = new Array<>(false, 16, Body.class);
+    private int score;
+    private float stateTime;
+
+    void capture(Box2dWorld<?> world) {
+        world.box2dWorld.getBodies(bodies);
+        bodyOwners.clear();
+        bodyUserData.clear();
+        bodyIncarnations.clear();
+        if (bodyData.length < bodies.size * STRIDE) {
+            bodyData = new float[bodies.size * STRIDE * 2];
+        }
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            Vector2 pos = body.getPosition();
+            Vector2 vel = body.getLinearVelocity();
+            int offset = i * STRIDE;
+            bodyData[offset] = pos.x;
+            bodyData[offset + 1] = pos.y;
+            bodyData[offset + 2] = body.getAngle();
+            bodyData[offset + 3] = vel.x;
+            bodyData[offset + 4] = vel.y;
+            bodyData[offset + 5] = body.getAngularVelocity();
+            bodyData[offset + 6] = body.isAwake() ? 1 : 0;
+            bodyData[offset + 7] = body.isActive() ? 1 : 0;
+            Object owner = body.getUserData();
+            bodyOwners.add(owner instanceof Box2dActor && ((Box2dActor<?>) owner).getBody() == body
+                    ? (Box2dActor<?>) owner : null);
+            bodyUserData.add(owner);
+            bodyIncarnations.add(world.getBodyIncarnation(body));
+        }
+
+        actors.clear();
+        actorSet.clear();
+        actorStates.clear();
+        actors.addAll(world.stage.getActors());
+        if (actorData.length < actors.size * 2) {
+            actorData = new float[actors.size * 2 * 2];
+        }
+        for (int i = 0; i < actors.size; i++) {
+            Actor actor = actors.get(i);
+            actorSet.add(actor);
+            if (actor instanceof WorldActor) {
+                WorldActor<?> worldActor = (WorldActor<?>) actor;
+                actorData[i * 2] = worldActor.getStateTime();
+                actorData[i * 2 + 1] = worldActor.isDormant() ? 1 : 0;
+                actorStates.add(worldActor.saveState());
+            } else {
+                actorStates.add(null);
+            }
+        }
+        score = world.getScore();
+        stateTime = world.getStateTime();
+    }
+
+    /**
+     * Bring the stage back to the captured set of actors; must be called before {@link #restoreBodies}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void restoreActors(Box2dWorld world) {
+        SnapshotArray<Actor> children = world.stage.getRoot().getChildren();
+        Actor[] current = children.begin();
+        for (int i = 0, n = children.size; i < n; i++) {
+            Actor actor = current[i];
+            if (!actorSet.contains(actor)
+                    && !(actor instanceof WorldActor && ((WorldActor<?>) actor).isNoRemove())) {
+                actor.remove();
+            }
+        }
+        children.end();
+
+        for (int i = 0; i < actors.size; i++) {
+            Actor actor = actors.get(i);
+            if (actor instanceof WorldActor) {
+                WorldActor<?> worldActor = (WorldActor<?>) actor;
+                if (actor.getStage() != world.stage && worldActor.isPooled()) {
+                    continue; // already recycled
+                }
+                worldActor.revive(actorData[i * 2], actorData[i * 2 + 1] != 0);
+                if (actor.getStage() != world.stage) {
+                    worldActor.clearTasks();
+                    world.addActor(worldActor);
+                }
+            } else if (actor.getStage() != world.stage) {
+                world.stage.addActor(actor);
+            }
+        }
+    }
+
+    void restoreBodies(Box2dWorld<?> world) {
+        world.box2dWorld.getBodies(bodyCache);
+        liveBodies.clear();
+        liveBodies.addAll(bodyCache);
+        bodyCache.clear();
+        for (int i = 0; i < bodies.size; i++) {
+            Box2dActor<?> owner = bodyOwners.get(i);
+            Body body = owner != null ? owner.getBody() : bodies.get(i);
+            if (body == null || (owner == null && !isSameBody(world, i, body))
+                    || (owner != null && owner.getStage() != world.stage)) {
+                continue;
+            }
+            int offset = i * STRIDE;
+            body.setTransform(bodyData[offset], bodyData[offset + 1], bodyData[offset + 2]);
+            body.setLinearVelocity(bodyData[offset + 3], bodyData[offset + 4]);
+            body.setAngularVelocity(bodyData[offset + 5]);
+            body.setActive(bodyData[offset + 7] != 0);
+            body.setAwake(bodyData[offset + 6] != 0);
+        }
+        liveBodies.clear();
+
+        for (int i = 0; i < actors.size; i++) {
+            Actor actor = actors.get(i);
+            if (actor instanceof WorldActor) {
+                if (actor instanceof Box2dActor) {
+                    ((Box2dActor<?>) actor).resetInterpolation();
+                }
+                ((WorldActor<?>) actor).restoreState(actorStates.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return true if the live Body object at the index is still the captured body and not a recycled one
+     */
+    private boolean isSameBody(Box2dWorld<?> world, int index, Body body) {
+        return liveBodies.contains(body) && body.getUserData() == bodyUserData.get(index)
+                && world.getBodyIncarnation(body) == bodyIncarnations.get(index);
+    }
+
+    int getScore() {
+        return score;
+    }
+
+    float getStateTime() {
+        return stateTime;
+    }
+
+    public int getBodyCount() {
+        return bodies.size;
+    }
+
+    public int getActorCount() {
+        return actors.size;
+    }
+}